@@ -1,29 +1,12 @@
 package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.markerannotation;
 
-// Program to process marker annotations (Page 182)
-
-import java.lang.reflect.*;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner.TestRunner;
 
+// Program to process marker annotations (Page 182)
+// The book's reflective loop now lives in runner.TestRunner, which also runs the tests
+// in parallel with timeouts and prints one JSON line per result
 public class RunTests {
     public static void main(String[] args) throws Exception {
-        int tests = 0;
-        int passed = 0;
-        Class<?> testClass = Class.forName(args[0]);
-        for (Method m : testClass.getDeclaredMethods()) {
-            if (m.isAnnotationPresent(Test.class)) {
-                tests++;
-                try {
-                    m.invoke(null);
-                    passed++;
-                } catch (InvocationTargetException wrappedExc) {
-                    Throwable exc = wrappedExc.getCause();
-                    System.out.println(m + " failed: " + exc);
-                } catch (Exception exc) {
-                    System.out.println("Invalid @Test: " + m);
-                }
-            }
-        }
-        System.out.printf("Passed: %d, Failed: %d%n",
-                passed, tests - passed);
+        TestRunner.main(args);
     }
 }
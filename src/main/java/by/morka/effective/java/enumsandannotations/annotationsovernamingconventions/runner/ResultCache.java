@@ -0,0 +1,77 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Remembers which tests passed, keyed by the SHA-256 of their class file.
+ * A test is fresh while its class file is unchanged since it last passed;
+ * failed tests are never cached, so they always run again.
+ */
+final class ResultCache {
+    private final Path file;
+    private final Properties passed = new Properties();
+    private final Map<Class<?>, String> classHashes = new HashMap<>();
+
+    private ResultCache(Path file) {
+        this.file = file;
+    }
+
+    static ResultCache load(Path file) throws IOException {
+        ResultCache cache = new ResultCache(file);
+        if (Files.exists(file)) {
+            try (Reader in = Files.newBufferedReader(file)) {
+                cache.passed.load(in);
+            }
+        }
+        return cache;
+    }
+
+    boolean isFresh(TestMethod test) {
+        String hash = classHash(test.testClass());
+        return hash != null && hash.equals(passed.getProperty(test.signature()));
+    }
+
+    void record(TestMethod test, TestResult result) {
+        String hash = classHash(test.testClass());
+        if (result.status() == TestResult.Status.PASSED && hash != null)
+            passed.setProperty(test.signature(), hash);
+        else
+            passed.remove(test.signature());
+    }
+
+    void save() throws IOException {
+        try (Writer out = Files.newBufferedWriter(file)) {
+            passed.store(out, "Passed tests by class file SHA-256");
+        }
+    }
+
+    // null if the class file can't be read, in which case nothing is cached for it
+    private String classHash(Class<?> testClass) {
+        return classHashes.computeIfAbsent(testClass, c -> {
+            String resource = c.getName().substring(c.getName().lastIndexOf('.') + 1) + ".class";
+            try (InputStream in = c.getResourceAsStream(resource)) {
+                if (in == null)
+                    return null;
+                StringBuilder hex = new StringBuilder();
+                for (byte b : MessageDigest.getInstance("SHA-256").digest(in.readAllBytes()))
+                    hex.append(String.format("%02x", b));
+                return hex.toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new AssertionError(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner;
+
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.markerannotation.Test;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner.processor.TestIndexProcessor;
+import by.morka.effective.java.harness.ChildJvm;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup cost of test discovery, with and without a generated TestIndex.
+ * 1. Generates one class with N @Test methods and compiles it twice: once with
+ * TestIndexProcessor, once with annotation processing off.
+ * 2. Runs TestRunner.discover in a fresh JVM per run, so nothing is warm or cached,
+ * and reports the median JVM wall time and in-process discovery time.
+ * <p>
+ * Usage: StartupHarness [--methods N] [--runs N]
+ */
+public class StartupHarness {
+    private static final String TEST_CLASS = "startup.GeneratedTests";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(args[1]);
+            return;
+        }
+        int methods = 10_000;
+        int runs = 5;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--methods" -> methods = Integer.parseInt(args[++i]);
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        Path work = Files.createTempDirectory("startup-harness");
+        Path source = work.resolve("src/startup/GeneratedTests.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, generate(methods));
+        Path indexed = compile(source, work.resolve("indexed"), true);
+        Path scanned = compile(source, work.resolve("scanned"), false);
+
+        System.out.printf("%d @Test methods, %d fresh JVMs per mode%n", methods, runs);
+        report("with index", indexed, runs);
+        report("reflection scan", scanned, runs);
+    }
+
+    // Runs in the child JVM: loads the class and discovers its tests, once
+    private static void child(String className) throws ClassNotFoundException {
+        long start = System.nanoTime();
+        List<TestMethod> tests = TestRunner.discover(Class.forName(className));
+        long nanos = System.nanoTime() - start;
+        System.out.println(nanos + " " + tests.size());
+    }
+
+    private static String generate(int methods) {
+        StringBuilder sb = new StringBuilder("package startup;\n\npublic class GeneratedTests {\n");
+        for (int i = 0; i < methods; i++)
+            sb.append(String.format("    @%s public static void m%d() { }%n", Test.class.getName(), i));
+        return sb.append("}\n").toString();
+    }
+
+    private static Path compile(Path source, Path out, boolean index) throws IOException {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null)
+            throw new IllegalStateException("Needs a JDK: no system Java compiler");
+        Files.createDirectories(out);
+        List<String> options = new ArrayList<>(List.of(
+                "-d", out.toString(), "-cp", System.getProperty("java.class.path")));
+        options.addAll(index
+                ? List.of("-processor", TestIndexProcessor.class.getName())
+                : List.of("-proc:none"));
+        options.add(source.toString());
+        if (javac.run(null, null, null, options.toArray(new String[0])) != 0)
+            throw new IllegalStateException("Compilation failed: " + source);
+        return out;
+    }
+
+    private static void report(String mode, Path classes, int runs) throws Exception {
+        long[] wall = new long[runs];
+        long[] discover = new long[runs];
+        int found = 0;
+        for (int r = 0; r < runs; r++) {
+            long start = System.nanoTime();
+            String[] line = ChildJvm.run(StartupHarness.class, List.of(classes), List.of(),
+                    "--child", TEST_CLASS).split(" ");
+            wall[r] = System.nanoTime() - start;
+            discover[r] = Long.parseLong(line[0]);
+            found = Integer.parseInt(line[1]);
+        }
+        System.out.printf("%-16s JVM wall %6.1f ms, discover %6.1f ms (median), %d tests found%n",
+                mode, ChildJvm.median(wall) / 1e6, ChildJvm.median(discover) / 1e6, found);
+    }
+}
@@ -0,0 +1,40 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner;
+
+import java.util.List;
+
+/**
+ * Tests declared by one class, generated at compile time by TestIndexProcessor
+ * as {@code <package>.<Outer_Inner>_TestIndex}. Loading it replaces the
+ * getDeclaredMethods() scan with a fixed list of method names.
+ */
+public interface TestIndex {
+    String SUFFIX = "_TestIndex";
+
+    List<Entry> tests();
+
+    // A method name, its declared return type and, for @ExceptionTest, the exceptions it may throw
+    final class Entry {
+        private final String method;
+        private final Class<?> returnType;
+        private final Class<?>[] expected;
+
+        public Entry(String method, Class<?> returnType, Class<?>... expected) {
+            this.method = method;
+            this.returnType = returnType;
+            this.expected = expected.clone();
+        }
+
+        public String method() {
+            return method;
+        }
+
+        // findStatic needs the exact type; a scanned test may return anything
+        public Class<?> returnType() {
+            return returnType;
+        }
+
+        public Class<?>[] expected() {
+            return expected.clone();
+        }
+    }
+}
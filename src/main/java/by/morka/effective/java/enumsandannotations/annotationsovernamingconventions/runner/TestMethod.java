@@ -0,0 +1,130 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner;
+
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner.TestResult.Status;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * A compiled test: either a plain @Test, or an @ExceptionTest of any flavour.
+ * The method is turned into a ()void MethodHandle and the expected exception types
+ * are resolved once at discovery time, so running it again costs one invokeExact.
+ */
+public final class TestMethod {
+    private static final Class<?>[] NO_EXCEPTION = {};
+    private static final MethodType TEST_TYPE = MethodType.methodType(void.class);
+
+    private final Class<?> testClass;
+    private final String methodName;
+    private final Class<?>[] expected;
+    // null if the method can't be run as a test
+    private final MethodHandle handle;
+
+    private TestMethod(Class<?> testClass, String methodName, Class<?>[] expected, MethodHandle handle) {
+        this.testClass = testClass;
+        this.methodName = methodName;
+        this.expected = expected;
+        this.handle = handle;
+    }
+
+    // Only parameterless static methods are valid tests
+    private static MethodHandle compile(Method method) {
+        if (!Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0)
+            return null;
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(TEST_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    static TestMethod test(Method method) {
+        return exceptionTest(method, NO_EXCEPTION);
+    }
+
+    static TestMethod exceptionTest(Method method, Class<?>... expected) {
+        return new TestMethod(method.getDeclaringClass(), method.getName(),
+                expected.clone(), compile(method));
+    }
+
+    // Compiles an entry of a generated TestIndex: the method is looked up by name, not scanned for
+    static TestMethod indexed(Class<?> testClass, TestIndex.Entry entry) {
+        MethodHandle handle;
+        try {
+            // Adapted to ()void like a scanned method, so a non-void test is valid either way
+            handle = MethodHandles.publicLookup()
+                    .findStatic(testClass, entry.method(), MethodType.methodType(entry.returnType()))
+                    .asType(TEST_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            handle = null;
+        }
+        return new TestMethod(testClass, entry.method(), entry.expected(), handle);
+    }
+
+    public String name() {
+        return testClass.getName() + "#" + methodName;
+    }
+
+    // Unique per test, even when one method carries both @Test and @ExceptionTest
+    public String signature() {
+        return name() + (expectsException() ? " @ExceptionTest" : " @Test");
+    }
+
+    Class<?> testClass() {
+        return testClass;
+    }
+
+    Class<?>[] expected() {
+        return expected.clone();
+    }
+
+    public boolean expectsException() {
+        return expected.length > 0;
+    }
+
+    public TestResult run() {
+        long start = System.nanoTime();
+        if (handle == null)
+            return new TestResult(name(), Status.INVALID,
+                    "Invalid " + (expectsException() ? "@ExceptionTest" : "@Test") + ": " + name(),
+                    System.nanoTime() - start);
+        Status status;
+        String detail = null;
+        try {
+            handle.invokeExact();
+            if (expectsException()) {
+                status = Status.FAILED;
+                detail = "no exception";
+            } else {
+                status = Status.PASSED;
+            }
+        } catch (Throwable exc) {
+            if (isExpected(exc)) {
+                status = Status.PASSED;
+            } else {
+                status = Status.FAILED;
+                detail = expectsException()
+                        ? "expected " + Arrays.toString(expected) + ", got " + exc
+                        : exc.toString();
+            }
+        }
+        return new TestResult(name(), status, detail, System.nanoTime() - start);
+    }
+
+    private boolean isExpected(Throwable exc) {
+        for (Class<?> type : expected) {
+            if (type.isInstance(exc))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+}
@@ -0,0 +1,61 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner;
+
+import java.util.concurrent.TimeUnit;
+
+// Outcome of a single test execution
+public final class TestResult {
+    public enum Status {PASSED, FAILED, INVALID, TIMED_OUT}
+
+    private final String test;
+    private final Status status;
+    private final String detail;
+    private final long durationNanos;
+
+    TestResult(String test, Status status, String detail, long durationNanos) {
+        this.test = test;
+        this.status = status;
+        this.detail = detail;
+        this.durationNanos = durationNanos;
+    }
+
+    public String test() {
+        return test;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public String detail() {
+        return detail;
+    }
+
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    // One JSON object per line, so reports can be processed line by line
+    public String toJson() {
+        return String.format("{\"test\":\"%s\",\"status\":\"%s\",\"durationMicros\":%d%s}",
+                escape(test), status, TimeUnit.NANOSECONDS.toMicros(durationNanos),
+                detail == null ? "" : ",\"detail\":\"" + escape(detail) + "\"");
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if (c < ' ')
+                sb.append(String.format("\\u%04x", (int) c));
+            else
+                sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
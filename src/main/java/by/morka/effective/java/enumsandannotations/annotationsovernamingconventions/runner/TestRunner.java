@@ -0,0 +1,272 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner;
+
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.markerannotation.Test;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner.TestResult.Status;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One runner for every annotation flavour of the RunTests samples.
+ * Tests are discovered once per class, run on a pool of daemon threads,
+ * and a test still running after the timeout is reported as TIMED_OUT and interrupted.
+ * A timed-out test may ignore the interrupt, so its worker is written off and the pool
+ * grows by one thread until that worker comes back; hung tests never starve queued ones.
+ */
+public final class TestRunner implements AutoCloseable {
+    private static final ClassValue<List<TestMethod>> TESTS = new ClassValue<>() {
+        @Override
+        protected List<TestMethod> computeValue(Class<?> testClass) {
+            List<TestMethod> indexed = loadIndex(testClass);
+            return List.copyOf(indexed != null ? indexed : scan(testClass));
+        }
+    };
+
+    private final ThreadPoolExecutor pool;
+    private final ScheduledExecutorService timer;
+    private final long timeoutNanos;
+
+    public TestRunner(int threads, Duration timeout) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads < 1: " + threads);
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemon("test-runner"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("test-timeout"));
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // Cached: the index is loaded, or the class scanned, only the first time it is asked for
+    public static List<TestMethod> discover(Class<?> testClass) {
+        return TESTS.get(testClass);
+    }
+
+    // Uses the TestIndex generated at compile time, or returns null if there is none
+    static List<TestMethod> loadIndex(Class<?> testClass) {
+        String pkg = testClass.getPackageName();
+        String flatName = testClass.getName().substring(pkg.isEmpty() ? 0 : pkg.length() + 1);
+        String name = (pkg.isEmpty() ? "" : pkg + ".") + flatName.replace('$', '_') + TestIndex.SUFFIX;
+        TestIndex index;
+        try {
+            index = (TestIndex) Class.forName(name, true, testClass.getClassLoader())
+                    .getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Broken test index " + name, e);
+        }
+        List<TestMethod> tests = new ArrayList<>();
+        for (TestIndex.Entry entry : index.tests())
+            tests.add(TestMethod.indexed(testClass, entry));
+        return tests;
+    }
+
+    // Falls back to reflection when the class was compiled without TestIndexProcessor
+    static List<TestMethod> scan(Class<?> testClass) {
+        Method[] methods = testClass.getDeclaredMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        List<TestMethod> tests = new ArrayList<>();
+        for (Method m : methods) {
+            if (m.isAnnotationPresent(Test.class))
+                tests.add(TestMethod.test(m));
+
+            var single = m.getAnnotation(
+                    by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                            .annotationwithparameter.ExceptionTest.class);
+            if (single != null)
+                tests.add(TestMethod.exceptionTest(m, single.value()));
+
+            var array = m.getAnnotation(
+                    by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                            .annotationwitharrayparameter.ExceptionTest.class);
+            if (array != null)
+                tests.add(TestMethod.exceptionTest(m, array.value()));
+
+            var repeated = m.getAnnotationsByType(
+                    by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                            .repeatableannotation.ExceptionTest.class);
+            if (repeated.length > 0) {
+                Class<?>[] expected = new Class<?>[repeated.length];
+                for (int i = 0; i < repeated.length; i++)
+                    expected[i] = repeated[i].value();
+                tests.add(TestMethod.exceptionTest(m, expected));
+            }
+        }
+        return tests;
+    }
+
+    // Runs the tests in parallel; results come back in the order of the tests
+    public List<TestResult> run(Collection<TestMethod> tests) {
+        List<CompletableFuture<TestResult>> futures = new ArrayList<>();
+        for (TestMethod test : tests)
+            futures.add(submit(test));
+        List<TestResult> results = new ArrayList<>();
+        for (CompletableFuture<TestResult> f : futures)
+            results.add(f.join());
+        return results;
+    }
+
+    private CompletableFuture<TestResult> submit(TestMethod test) {
+        Execution execution = new Execution(this);
+        pool.execute(() -> {
+            long start = System.nanoTime();
+            execution.start(Thread.currentThread());
+            ScheduledFuture<?> watchdog = timer.schedule(
+                    () -> execution.timeOut(new TestResult(test.name(), Status.TIMED_OUT,
+                            "no result after " + Duration.ofNanos(timeoutNanos),
+                            System.nanoTime() - start)),
+                    timeoutNanos, TimeUnit.NANOSECONDS);
+            TestResult result = test.run();
+            watchdog.cancel(false);
+            execution.finish(result);
+        });
+        return execution.result;
+    }
+
+    // Adds (delta > 0) or retires (delta < 0) worker threads; max must never drop below core
+    private synchronized void resize(int delta) {
+        if (pool.isShutdown())
+            return;
+        int size = pool.getCorePoolSize() + delta;
+        if (delta > 0) {
+            pool.setMaximumPoolSize(size);
+            pool.setCorePoolSize(size);
+        } else {
+            pool.setCorePoolSize(size);
+            pool.setMaximumPoolSize(size);
+        }
+    }
+
+    // Whichever of finish and timeOut comes first decides the result
+    private static final class Execution {
+        final CompletableFuture<TestResult> result = new CompletableFuture<>();
+        private final TestRunner runner;
+        private Thread worker;
+        private boolean done;
+        private boolean abandoned;
+
+        Execution(TestRunner runner) {
+            this.runner = runner;
+        }
+
+        synchronized void start(Thread worker) {
+            this.worker = worker;
+        }
+
+        synchronized void finish(TestResult r) {
+            done = true;
+            result.complete(r);
+            // Don't leak a timeout interrupt into the next test on this thread
+            Thread.interrupted();
+            // The replacement started at timeout is no longer needed
+            if (abandoned)
+                runner.resize(-1);
+        }
+
+        synchronized void timeOut(TestResult r) {
+            if (!done && result.complete(r)) {
+                worker.interrupt();
+                // The worker may ignore the interrupt: replace it rather than wait for it
+                abandoned = true;
+                runner.resize(1);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    /**
+     * Keeps the tests of shard index (1-based) out of count shards.
+     * Tests are assigned by the hash of their signature, which String.hashCode
+     * keeps stable across runs and JVMs.
+     */
+    public static List<TestMethod> shard(List<TestMethod> tests, int index, int count) {
+        if (count < 1 || index < 1 || index > count)
+            throw new IllegalArgumentException(String.format("Bad shard %d/%d", index, count));
+        List<TestMethod> shard = new ArrayList<>();
+        for (TestMethod test : tests) {
+            if (Math.floorMod(test.signature().hashCode(), count) == index - 1)
+                shard.add(test);
+        }
+        return shard;
+    }
+
+    // Usage: TestRunner [--threads N] [--timeout-ms N] [--shard I/N] [--cache FILE] className...
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long timeoutMillis = 10_000;
+        int shardIndex = 1;
+        int shardCount = 1;
+        ResultCache cache = null;
+        List<TestMethod> tests = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--timeout-ms" -> timeoutMillis = Long.parseLong(args[++i]);
+                case "--shard" -> {
+                    String[] shard = args[++i].split("/");
+                    shardIndex = Integer.parseInt(shard[0]);
+                    shardCount = Integer.parseInt(shard[1]);
+                }
+                case "--cache" -> cache = ResultCache.load(Path.of(args[++i]));
+                default -> tests.addAll(discover(Class.forName(args[i])));
+            }
+        }
+        tests = shard(tests, shardIndex, shardCount);
+
+        List<TestMethod> toRun = new ArrayList<>();
+        for (TestMethod test : tests) {
+            if (cache == null || !cache.isFresh(test))
+                toRun.add(test);
+        }
+        Map<TestMethod, TestResult> results = new HashMap<>();
+        try (TestRunner runner = new TestRunner(threads, Duration.ofMillis(timeoutMillis))) {
+            List<TestResult> ran = runner.run(toRun);
+            for (int i = 0; i < toRun.size(); i++)
+                results.put(toRun.get(i), ran.get(i));
+        }
+
+        int passed = 0;
+        for (TestMethod test : tests) {
+            TestResult result = results.get(test);
+            if (result == null)
+                result = new TestResult(test.name(), Status.PASSED, "cached, class unchanged", 0);
+            else if (cache != null)
+                cache.record(test, result);
+            System.out.println(result.toJson());
+            if (result.status() == Status.PASSED)
+                passed++;
+        }
+        if (cache != null)
+            cache.save();
+        System.out.printf("{\"passed\":%d,\"failed\":%d,\"cached\":%d}%n",
+                passed, tests.size() - passed, tests.size() - toRun.size());
+    }
+}
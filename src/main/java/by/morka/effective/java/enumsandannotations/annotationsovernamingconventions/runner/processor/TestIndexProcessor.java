@@ -0,0 +1,173 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a TestIndex for every class declaring @Test or @ExceptionTest methods.
+ * Annotation types are matched by name, so this processor compiles on its own,
+ * before the annotations and the runner it generates code for.
+ */
+@SupportedAnnotationTypes({
+        TestIndexProcessor.TEST,
+        TestIndexProcessor.EXCEPTION_TEST,
+        TestIndexProcessor.ARRAY_EXCEPTION_TEST,
+        TestIndexProcessor.REPEATABLE_EXCEPTION_TEST,
+        TestIndexProcessor.EXCEPTION_TEST_CONTAINER})
+public class TestIndexProcessor extends AbstractProcessor {
+    private static final String BASE =
+            "by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.";
+    static final String TEST = BASE + "markerannotation.Test";
+    static final String EXCEPTION_TEST = BASE + "annotationwithparameter.ExceptionTest";
+    static final String ARRAY_EXCEPTION_TEST = BASE + "annotationwitharrayparameter.ExceptionTest";
+    static final String REPEATABLE_EXCEPTION_TEST = BASE + "repeatableannotation.ExceptionTest";
+    static final String EXCEPTION_TEST_CONTAINER = BASE + "repeatableannotation.ExceptionTestContainer";
+    private static final String TEST_INDEX = BASE + "runner.TestIndex";
+    private static final int ENTRIES_PER_METHOD = 500;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<ExecutableElement>> methodsByClass = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                ExecutableElement method = (ExecutableElement) e;
+                List<ExecutableElement> methods = methodsByClass.computeIfAbsent(
+                        (TypeElement) method.getEnclosingElement(), k -> new ArrayList<>());
+                if (!methods.contains(method))
+                    methods.add(method);
+            }
+        }
+        methodsByClass.forEach(this::writeIndex);
+        return false;
+    }
+
+    private void writeIndex(TypeElement testClass, List<ExecutableElement> methods) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(testClass).toString();
+        int dot = binaryName.lastIndexOf('.');
+        String pkg = dot < 0 ? "" : binaryName.substring(0, dot);
+        String indexName = binaryName.substring(dot + 1).replace('$', '_') + "_TestIndex";
+
+        methods.sort(Comparator.comparing(m -> m.getSimpleName().toString()));
+        List<String> entries = new ArrayList<>();
+        for (ExecutableElement m : methods)
+            entries.addAll(entries(m));
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(pkg.isEmpty() ? indexName : pkg + "." + indexName, testClass)
+                .openWriter())) {
+            if (!pkg.isEmpty())
+                out.printf("package %s;%n%n", pkg);
+            out.printf("// Generated by %s from %s - do not edit%n",
+                    TestIndexProcessor.class.getSimpleName(), binaryName);
+            out.printf("public final class %s implements %s {%n", indexName, TEST_INDEX);
+            out.printf("    @Override%n");
+            out.printf("    public java.util.List<%s.Entry> tests() {%n", TEST_INDEX);
+            out.printf("        java.util.List<%s.Entry> tests = new java.util.ArrayList<>(%d);%n",
+                    TEST_INDEX, entries.size());
+            int chunks = (entries.size() + ENTRIES_PER_METHOD - 1) / ENTRIES_PER_METHOD;
+            for (int c = 0; c < chunks; c++)
+                out.printf("        add%d(tests);%n", c);
+            out.printf("        return java.util.List.copyOf(tests);%n");
+            out.printf("    }%n");
+            // Entries are split over several methods: one method can't hold 10k of them in 64KB of bytecode
+            for (int c = 0; c < chunks; c++) {
+                out.printf("%n    private static void add%d(java.util.List<%s.Entry> tests) {%n", c, TEST_INDEX);
+                for (String entry : entries.subList(c * ENTRIES_PER_METHOD,
+                        Math.min(entries.size(), (c + 1) * ENTRIES_PER_METHOD)))
+                    out.printf("        tests.add(%s);%n", entry);
+                out.printf("    }%n");
+            }
+            out.printf("}%n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Can't write test index: " + e, testClass);
+        }
+    }
+
+    // One entry per annotation flavour, in TestRunner.scan's fixed order, whatever the source order:
+    // @Test, @ExceptionTest(Class), @ExceptionTest(Class[]), then repeatable @ExceptionTest
+    private List<String> entries(ExecutableElement method) {
+        String test = null;
+        String single = null;
+        String array = null;
+        List<TypeMirror> repeated = new ArrayList<>();
+        for (AnnotationMirror a : method.getAnnotationMirrors()) {
+            switch (a.getAnnotationType().asElement().toString()) {
+                case TEST -> test = entry(method, List.of());
+                case EXCEPTION_TEST -> single = entry(method, List.of((TypeMirror) value(a).getValue()));
+                case ARRAY_EXCEPTION_TEST -> array = entry(method, types(value(a)));
+                case REPEATABLE_EXCEPTION_TEST -> repeated.add((TypeMirror) value(a).getValue());
+                case EXCEPTION_TEST_CONTAINER -> {
+                    for (AnnotationValue v : list(value(a)))
+                        repeated.add((TypeMirror) value((AnnotationMirror) v.getValue()).getValue());
+                }
+                default -> {
+                }
+            }
+        }
+        List<String> entries = new ArrayList<>();
+        for (String entry : Arrays.asList(test, single, array)) {
+            if (entry != null)
+                entries.add(entry);
+        }
+        if (!repeated.isEmpty())
+            entries.add(entry(method, repeated));
+        return entries;
+    }
+
+    private String entry(ExecutableElement method, List<TypeMirror> expected) {
+        String types = expected.stream()
+                .map(t -> ", " + classLiteral(t))
+                .collect(Collectors.joining());
+        return String.format("new %s.Entry(\"%s\", %s%s)", TEST_INDEX,
+                method.getSimpleName(), classLiteral(method.getReturnType()), types);
+    }
+
+    private String classLiteral(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type) + ".class";
+    }
+
+    private AnnotationValue value(AnnotationMirror a) {
+        return a.getElementValues().entrySet().stream()
+                .filter(e -> e.getKey().getSimpleName().contentEquals("value"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No value in " + a));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> list(AnnotationValue v) {
+        return (List<? extends AnnotationValue>) v.getValue();
+    }
+
+    private static List<TypeMirror> types(AnnotationValue v) {
+        List<TypeMirror> types = new ArrayList<>();
+        for (AnnotationValue t : list(v))
+            types.add((TypeMirror) t.getValue());
+        return types;
+    }
+}
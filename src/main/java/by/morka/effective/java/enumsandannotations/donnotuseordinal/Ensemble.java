@@ -1,5 +1,13 @@
 package by.morka.effective.java.enumsandannotations.donnotuseordinal;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
 // Enum with integer data stored in an instance field
 public enum Ensemble {
     SOLO(1), DUET(2), TRIO(3), QUARTET(4), QUINTET(5),
@@ -16,6 +24,43 @@ public enum Ensemble {
         return numberOfMusicians;
     }
 
+    // Reverse index: position n holds the ensembles of exactly n musicians
+    private static final List<List<Ensemble>> bySize;
+    // All ensembles sorted by size, with their sizes in a parallel array for binary search
+    private static final Ensemble[] sorted =
+            Stream.of(values()).sorted(comparingInt(Ensemble::numberOfMusicians))
+                    .toArray(Ensemble[]::new);
+    private static final int[] sortedSizes =
+            Stream.of(sorted).mapToInt(Ensemble::numberOfMusicians).toArray();
+
+    static {
+        List<List<Ensemble>> index = new ArrayList<>();
+        for (int n = 0; n <= sortedSizes[sortedSizes.length - 1]; n++)
+            index.add(new ArrayList<>());
+        for (Ensemble e : values())
+            index.get(e.numberOfMusicians).add(e);
+        bySize = index.stream().map(List::copyOf).collect(toUnmodifiableList());
+    }
+
+    // Returns the ensembles of exactly n musicians, in declaration order
+    public static List<Ensemble> ofSize(int n) {
+        return n >= 0 && n < bySize.size() ? bySize.get(n) : List.of();
+    }
+
+    // Returns the smallest ensemble with at least n musicians, if any
+    public static Optional<Ensemble> smallestOfAtLeast(int n) {
+        int lo = 0;
+        int hi = sortedSizes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedSizes[mid] < n)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo < sorted.length ? Optional.of(sorted[lo]) : Optional.empty();
+    }
+
     /**
      * BAD! never do so
      */
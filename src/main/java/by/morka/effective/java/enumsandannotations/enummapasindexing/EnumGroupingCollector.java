@@ -0,0 +1,82 @@
+package by.morka.effective.java.enumsandannotations.enummapasindexing;
+
+import java.util.EnumMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * groupingBy for enum keys. Intermediate results live in arrays indexed by the key's ordinal,
+ * so parallel streams merge two arrays element by element instead of merging maps.
+ * The ordinals never escape: the grouping variant finishes into an EnumMap and the
+ * counting/summing variants return arrays documented to be indexed by ordinal.
+ */
+public final class EnumGroupingCollector {
+    private EnumGroupingCollector() {
+        throw new AssertionError();
+    }
+
+    public static <T, K extends Enum<K>, A, D> Collector<T, ?, EnumMap<K, D>> groupingBy(
+            Class<K> keyType, Function<? super T, K> classifier,
+            Collector<? super T, A, D> downstream) {
+        K[] keys = keyType.getEnumConstants();
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Function<A, D> downstreamFinisher = downstream.finisher();
+
+        BiConsumer<Object[], T> accumulator = (groups, t) -> {
+            int k = classifier.apply(t).ordinal();
+            if (groups[k] == null)
+                groups[k] = downstreamSupplier.get();
+            downstreamAccumulator.accept(cast(groups[k]), t);
+        };
+        BinaryOperator<Object[]> combiner = (left, right) -> {
+            for (int k = 0; k < left.length; k++) {
+                if (left[k] == null)
+                    left[k] = right[k];
+                else if (right[k] != null)
+                    left[k] = downstreamCombiner.apply(cast(left[k]), cast(right[k]));
+            }
+            return left;
+        };
+        Function<Object[], EnumMap<K, D>> finisher = groups -> {
+            EnumMap<K, D> result = new EnumMap<>(keyType);
+            for (int k = 0; k < groups.length; k++) {
+                if (groups[k] != null)
+                    result.put(keys[k], downstreamFinisher.apply(cast(groups[k])));
+            }
+            return result;
+        };
+        return Collector.of(() -> new Object[keys.length], accumulator, combiner, finisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> A cast(Object container) {
+        return (A) container;
+    }
+
+    // Returns counts indexed by key ordinal
+    public static <T, K extends Enum<K>> Collector<T, ?, long[]> counting(
+            Class<K> keyType, Function<? super T, K> classifier) {
+        return summingLong(keyType, classifier, t -> 1L);
+    }
+
+    // Returns sums indexed by key ordinal
+    public static <T, K extends Enum<K>> Collector<T, ?, long[]> summingLong(
+            Class<K> keyType, Function<? super T, K> classifier, ToLongFunction<? super T> mapper) {
+        int size = keyType.getEnumConstants().length;
+        return Collector.of(
+                () -> new long[size],
+                (sums, t) -> sums[classifier.apply(t).ordinal()] += mapper.applyAsLong(t),
+                (left, right) -> {
+                    for (int k = 0; k < left.length; k++)
+                        left[k] += right[k];
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+}
@@ -1,13 +1,15 @@
 package by.morka.effective.java.enumsandannotations.enummapasindexing;
 
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toMap;
 
-// Using a nested EnumMap to associate data with enum pairs
+// Using a nested EnumMap to associate data with enum pairs, and the same data in a flat TransitionTable
 public enum Phase {
     SOLID, LIQUID, GAS;
 
@@ -32,6 +34,14 @@ public enum Phase {
             this.to = to;
         }
 
+        public Phase source() {
+            return from;
+        }
+
+        public Phase target() {
+            return to;
+        }
+
         // Initialize the phase transition map
         private static final Map<Phase, Map<Phase, Transition>>
                 m = Stream.of(values())
@@ -42,9 +52,23 @@ public enum Phase {
                                 (x, y) -> y,
                                 () -> new EnumMap<>(Phase.class))));
 
-        public static Transition from(Phase from, Phase to) {
+        // The nested EnumMap lookup, kept as the reference the flat table is checked against
+        static Transition fromNested(Phase from, Phase to) {
             return m.get(from).get(to);
         }
+
+        // Same association compiled into one flat array - ordinals stay hidden inside the table
+        private static final TransitionTable<Phase, Transition> table =
+                TransitionTable.of(Phase.class, Transition.class, t -> t.from, t -> t.to);
+
+        public static Transition from(Phase from, Phase to) {
+            return table.get(from, to);
+        }
+
+        // Shortest sequence of transitions between two phases, if any
+        public static Optional<List<Transition>> path(Phase from, Phase to) {
+            return table.path(from, to);
+        }
     }
 
     // Simple demo program - prints a sloppy table
@@ -64,5 +64,12 @@ class Plant {
         System.out.println(Arrays.stream(garden)
                 .collect(groupingBy(p -> p.lifeCycle,
                         () -> new EnumMap<>(LifeCycle.class), toSet())));
+
+        // Same grouping with ordinal-indexed arrays kept inside the collector
+        System.out.println(Arrays.stream(garden).parallel()
+                .collect(EnumGroupingCollector.groupingBy(LifeCycle.class,
+                        p -> p.lifeCycle, toSet())));
+        System.out.println(Arrays.toString(Arrays.stream(garden)
+                .collect(EnumGroupingCollector.counting(LifeCycle.class, p -> p.lifeCycle))));
     }
 }
@@ -0,0 +1,111 @@
+package by.morka.effective.java.enumsandannotations.enummapasindexing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.function.Function;
+
+/**
+ * Associates data with enum pairs, like a nested EnumMap, but flattened into one
+ * array indexed by from.ordinal() * N + to.ordinal().
+ * The ordinals never leak out of this class: callers only ever see enum constants.
+ *
+ * @param <S> state enum
+ * @param <T> transition enum
+ */
+public final class TransitionTable<S extends Enum<S>, T extends Enum<T>> {
+    private final Class<S> stateType;
+    private final Class<T> transitionType;
+    private final S[] states;
+    private final Object[] transitions;
+    private final Object[] paths;
+
+    private TransitionTable(Class<S> stateType, Class<T> transitionType, S[] states, Object[] transitions) {
+        this.stateType = stateType;
+        this.transitionType = transitionType;
+        this.states = states;
+        this.transitions = transitions;
+        this.paths = shortestPaths();
+    }
+
+    public static <S extends Enum<S>, T extends Enum<T>> TransitionTable<S, T> of(
+            Class<S> stateType, Class<T> transitionType,
+            Function<? super T, S> from, Function<? super T, S> to) {
+        S[] states = stateType.getEnumConstants();
+        int n = states.length;
+        Object[] transitions = new Object[n * n];
+        for (T t : transitionType.getEnumConstants()) {
+            int i = Objects.requireNonNull(from.apply(t)).ordinal() * n
+                    + Objects.requireNonNull(to.apply(t)).ordinal();
+            if (transitions[i] != null)
+                throw new IllegalArgumentException(String.format(
+                        "%s and %s connect the same states", transitions[i], t));
+            transitions[i] = t;
+        }
+        return new TransitionTable<>(stateType, transitionType, states, transitions);
+    }
+
+    public Class<S> stateType() {
+        return stateType;
+    }
+
+    public Class<T> transitionType() {
+        return transitionType;
+    }
+
+    private int index(S from, S to) {
+        return from.ordinal() * states.length + to.ordinal();
+    }
+
+    // Returns the transition from one state directly to another, or null if there is none
+    @SuppressWarnings("unchecked")
+    public T get(S from, S to) {
+        return (T) transitions[index(from, to)];
+    }
+
+    /**
+     * Returns the shortest sequence of transitions leading from one state to another,
+     * empty if the states are the same, or Optional.empty() if to is unreachable.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<List<T>> path(S from, S to) {
+        return Optional.ofNullable((List<T>) paths[index(from, to)]);
+    }
+
+    // Breadth-first search from every state, done once when the table is built
+    @SuppressWarnings("unchecked")
+    private Object[] shortestPaths() {
+        int n = states.length;
+        Object[] result = new Object[n * n];
+        for (int src = 0; src < n; src++) {
+            int[] prev = new int[n];
+            Arrays.fill(prev, -1);
+            prev[src] = src;
+            Queue<Integer> queue = new ArrayDeque<>(List.of(src));
+            while (!queue.isEmpty()) {
+                int s = queue.remove();
+                for (int dst = 0; dst < n; dst++) {
+                    if (prev[dst] < 0 && transitions[s * n + dst] != null) {
+                        prev[dst] = s;
+                        queue.add(dst);
+                    }
+                }
+            }
+            for (int dst = 0; dst < n; dst++) {
+                if (prev[dst] < 0)
+                    continue;
+                List<T> path = new ArrayList<>();
+                for (int s = dst; s != src; s = prev[s])
+                    path.add((T) transitions[prev[s] * n + s]);
+                Collections.reverse(path);
+                result[src * n + dst] = Collections.unmodifiableList(path);
+            }
+        }
+        return result;
+    }
+}
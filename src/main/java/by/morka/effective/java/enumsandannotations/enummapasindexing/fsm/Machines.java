@@ -0,0 +1,75 @@
+package by.morka.effective.java.enumsandannotations.enummapasindexing.fsm;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A group of independent instances of one StateMachine.
+ * Each instance is just a short holding its state's ordinal, so millions of them
+ * cost two bytes each. Not thread-safe: confine a group to one thread, or split
+ * instances between several groups.
+ *
+ * @param <S> state enum
+ * @param <E> transition (event) enum
+ */
+public final class Machines<S extends Enum<S>, E extends Enum<E>> {
+    private final StateMachine<S, E> machine;
+    private final short[] states;
+    private final long[] fired;
+    private long rejected;
+
+    Machines(StateMachine<S, E> machine, int count, S initial) {
+        this.machine = machine;
+        this.states = new short[count];
+        this.fired = new long[machine.events.length];
+        Arrays.fill(states, (short) initial.ordinal());
+    }
+
+    public int size() {
+        return states.length;
+    }
+
+    public S state(int instance) {
+        return machine.states[states[instance]];
+    }
+
+    // Applies event to one instance; returns false and leaves the state unchanged if rejected
+    public boolean fire(int instance, E event) {
+        return fire(instance, event.ordinal());
+    }
+
+    private boolean fire(int instance, int event) {
+        int s = machine.next(states[instance], event);
+        if (s < 0) {
+            rejected++;
+            return false;
+        }
+        states[instance] = (short) s;
+        fired[event]++;
+        return true;
+    }
+
+    /**
+     * Applies events[i] to instances[i] for i in [off, off + len).
+     * Returns the number of accepted events.
+     */
+    public int fireAll(int[] instances, E[] events, int off, int len) {
+        Objects.checkFromIndexSize(off, len, instances.length);
+        Objects.checkFromIndexSize(off, len, events.length);
+        int accepted = 0;
+        for (int i = off; i < off + len; i++) {
+            if (fire(instances[i], events[i].ordinal()))
+                accepted++;
+        }
+        return accepted;
+    }
+
+    // Number of times event was accepted by any instance of this group
+    public long firedCount(E event) {
+        return fired[event.ordinal()];
+    }
+
+    public long rejectedCount() {
+        return rejected;
+    }
+}
@@ -0,0 +1,68 @@
+package by.morka.effective.java.enumsandannotations.enummapasindexing.fsm;
+
+import by.morka.effective.java.enumsandannotations.enummapasindexing.TransitionTable;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Immutable state machine driven by a TransitionTable.
+ * Each transition is an event that is only accepted in its source state.
+ * The table's (from, to) entries are re-indexed once by (state, event), the lookup
+ * the runtime needs: next state's ordinal, or -1 if the event is rejected.
+ *
+ * @param <S> state enum
+ * @param <E> transition (event) enum
+ */
+public final class StateMachine<S extends Enum<S>, E extends Enum<E>> {
+    final S[] states;
+    final E[] events;
+    private final TransitionTable<S, E> table;
+    private final short[] next;
+
+    private StateMachine(TransitionTable<S, E> table) {
+        this.table = table;
+        this.states = table.stateType().getEnumConstants();
+        this.events = table.transitionType().getEnumConstants();
+        if (states.length > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Too many states: " + states.length);
+        this.next = new short[states.length * events.length];
+        Arrays.fill(next, (short) -1);
+        for (S from : states) {
+            for (S to : states) {
+                E e = table.get(from, to);
+                if (e != null)
+                    next[from.ordinal() * events.length + e.ordinal()] = (short) to.ordinal();
+            }
+        }
+    }
+
+    public static <S extends Enum<S>, E extends Enum<E>> StateMachine<S, E> of(TransitionTable<S, E> table) {
+        return new StateMachine<>(table);
+    }
+
+    public static <S extends Enum<S>, E extends Enum<E>> StateMachine<S, E> of(
+            Class<S> stateType, Class<E> eventType,
+            Function<? super E, S> from, Function<? super E, S> to) {
+        return of(TransitionTable.of(stateType, eventType, from, to));
+    }
+
+    // The table this machine was compiled from, e.g. for path()
+    public TransitionTable<S, E> table() {
+        return table;
+    }
+
+    // Ordinal of the state reached by firing event in state, or -1 if the event is rejected
+    int next(int state, int event) {
+        return next[state * events.length + event];
+    }
+
+    public S next(S state, E event) {
+        int s = next(state.ordinal(), event.ordinal());
+        return s < 0 ? null : states[s];
+    }
+
+    public Machines<S, E> newMachines(int count, S initial) {
+        return new Machines<>(this, count, initial);
+    }
+}
@@ -0,0 +1,85 @@
+package by.morka.effective.java.enumsandannotations.enumsetinsteadofbitfields;
+
+import by.morka.effective.java.enumsandannotations.enumsetinsteadofbitfields.Text.Style;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Styles of many text runs, one byte per run instead of one EnumSet object per run.
+ * The bits are an implementation detail: the API still speaks Set&lt;Style&gt;,
+ * and EnumSet views are created only when a caller asks for one.
+ */
+public final class StyleRuns {
+    private static final Style[] STYLES = Style.values();
+
+    static {
+        if (STYLES.length > Byte.SIZE)
+            throw new AssertionError("Style no longer fits in a byte: " + STYLES.length);
+    }
+
+    private final byte[] masks;
+
+    public StyleRuns(int runCount) {
+        masks = new byte[runCount];
+    }
+
+    public int size() {
+        return masks.length;
+    }
+
+    // Returns a fresh, modifiable copy of the run's styles
+    public Set<Style> styles(int run) {
+        Set<Style> styles = EnumSet.noneOf(Style.class);
+        int mask = masks[run];
+        for (Style s : STYLES) {
+            if ((mask & bit(s)) != 0)
+                styles.add(s);
+        }
+        return styles;
+    }
+
+    public boolean hasStyle(int run, Style style) {
+        return (masks[run] & bit(style)) != 0;
+    }
+
+    public void setStyles(int run, Set<Style> styles) {
+        masks[run] = mask(styles);
+    }
+
+    // Union over runs [from, to)
+    public void addStyles(int from, int to, Set<Style> styles) {
+        Objects.checkFromToIndex(from, to, masks.length);
+        byte mask = mask(styles);
+        for (int i = from; i < to; i++)
+            masks[i] |= mask;
+    }
+
+    // Intersection over runs [from, to)
+    public void retainStyles(int from, int to, Set<Style> styles) {
+        Objects.checkFromToIndex(from, to, masks.length);
+        byte mask = mask(styles);
+        for (int i = from; i < to; i++)
+            masks[i] &= mask;
+    }
+
+    // Difference over runs [from, to)
+    public void removeStyles(int from, int to, Set<Style> styles) {
+        Objects.checkFromToIndex(from, to, masks.length);
+        byte mask = (byte) ~mask(styles);
+        for (int i = from; i < to; i++)
+            masks[i] &= mask;
+    }
+
+    private static int bit(Style style) {
+        return 1 << style.ordinal();
+    }
+
+    private static byte mask(Set<Style> styles) {
+        int mask = 0;
+        for (Style s : Objects.requireNonNull(styles))
+            mask |= bit(s);
+        return (byte) mask;
+    }
+}
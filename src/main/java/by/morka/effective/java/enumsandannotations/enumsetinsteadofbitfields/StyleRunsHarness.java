@@ -0,0 +1,79 @@
+package by.morka.effective.java.enumsandannotations.enumsetinsteadofbitfields;
+
+import by.morka.effective.java.enumsandannotations.enumsetinsteadofbitfields.Text.Style;
+import by.morka.effective.java.harness.ChildJvm;
+
+import java.lang.ref.Reference;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Retained heap of N run styles, as StyleRuns versus one EnumSet per run.
+ * Each mode runs in a fresh JVM with the serial collector and reports the growth
+ * of used heap after full GCs, from before the runs are built to after.
+ * <p>
+ * Usage: StyleRunsHarness [--runs N] [--jvms N]
+ */
+public class StyleRunsHarness {
+
+    enum Mode {STYLE_RUNS, ENUM_SETS}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(Mode.valueOf(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        int runs = 1_000_000;
+        int jvms = 3;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--jvms" -> jvms = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        System.out.printf("%d runs, %d fresh JVMs per mode (medians)%n", runs, jvms);
+        for (Mode mode : Mode.values()) {
+            long[] bytes = new long[jvms];
+            for (int j = 0; j < jvms; j++)
+                bytes[j] = Long.parseLong(ChildJvm.run(StyleRunsHarness.class,
+                        List.of("-XX:+UseSerialGC", "-Xmx512m"),
+                        "--child", mode.name(), String.valueOf(runs)));
+            long median = ChildJvm.median(bytes);
+            System.out.printf("%-10s %8.1f MB retained, %5.1f bytes per run%n",
+                    mode, median / 1e6, (double) median / runs);
+        }
+    }
+
+    // Runs in the child JVM: prints the heap retained by the runs' styles
+    private static void child(Mode mode, int runs) {
+        Style[] styles = Style.values();
+        long before = ChildJvm.usedHeapAfterGc();
+        Object retained;
+        if (mode == Mode.STYLE_RUNS) {
+            StyleRuns styleRuns = new StyleRuns(runs);
+            for (int run = 0; run < runs; run++)
+                styleRuns.setStyles(run, stylesFor(run, styles));
+            retained = styleRuns;
+        } else {
+            Object[] sets = new Object[runs];
+            for (int run = 0; run < runs; run++)
+                sets[run] = stylesFor(run, styles);
+            retained = sets;
+        }
+        long after = ChildJvm.usedHeapAfterGc();
+        Reference.reachabilityFence(retained);
+        System.out.println(after - before);
+    }
+
+    // A different one of the 16 style combinations for consecutive runs
+    private static Set<Style> stylesFor(int run, Style[] styles) {
+        Set<Style> set = EnumSet.noneOf(Style.class);
+        for (Style s : styles) {
+            if ((run >> s.ordinal() & 1) != 0)
+                set.add(s);
+        }
+        return set;
+    }
+}
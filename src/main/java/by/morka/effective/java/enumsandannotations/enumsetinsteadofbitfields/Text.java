@@ -21,5 +21,11 @@ public class Text {
         EnumSet uses same bit fields under the hood, but its API is safe and well formed!
          */
         text.applyStyles(EnumSet.of(Style.BOLD, Style.ITALIC));
+
+        // Many runs: bits packed internally, Set<Style> views on demand
+        StyleRuns runs = new StyleRuns(1_000);
+        runs.addStyles(0, 500, EnumSet.of(Style.BOLD, Style.UNDERLINE));
+        runs.removeStyles(100, 200, EnumSet.of(Style.UNDERLINE));
+        text.applyStyles(runs.styles(150));
     }
 }
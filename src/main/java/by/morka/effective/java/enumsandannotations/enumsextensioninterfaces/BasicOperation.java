@@ -1,26 +1,54 @@
 package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
 // Emulated extensible enum using an interface - Basic implementation
 public enum BasicOperation implements Operation {
     PLUS("+") {
         public double apply(double x, double y) {
             return x + y;
         }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] + y[i];
+        }
     },
     MINUS("-") {
         public double apply(double x, double y) {
             return x - y;
         }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] - y[i];
+        }
     },
     TIMES("*") {
         public double apply(double x, double y) {
             return x * y;
         }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] * y[i];
+        }
     },
     DIVIDE("/") {
         public double apply(double x, double y) {
             return x / y;
         }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] / y[i];
+        }
     };
 
     private final String symbol;
@@ -33,4 +61,23 @@ public enum BasicOperation implements Operation {
     public String toString() {
         return symbol;
     }
+
+    // Each constant runs its own loop, so apply is not dispatched per element
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] out, int off, int len) {
+        Objects.checkFromIndexSize(off, len, x.length);
+        Objects.checkFromIndexSize(off, len, y.length);
+        Objects.checkFromIndexSize(off, len, out.length);
+        applyRange(x, y, out, off, off + len);
+    }
+
+    abstract void applyRange(double[] x, double[] y, double[] out, int from, int to);
+
+    // Makes the constants discoverable through OperationRegistry.load()
+    public static final class Provider implements OperationProvider {
+        @Override
+        public Collection<? extends Operation> operations() {
+            return Arrays.asList(values());
+        }
+    }
 }
@@ -2,6 +2,7 @@ package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 
 // Emulated extensible enum
 public enum ExtendedOperation implements Operation {
@@ -9,11 +10,23 @@ public enum ExtendedOperation implements Operation {
         public double apply(double x, double y) {
             return Math.pow(x, y);
         }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = Math.pow(x[i], y[i]);
+        }
     },
     REMAINDER("%") {
         public double apply(double x, double y) {
             return x % y;
         }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] % y[i];
+        }
     };
     private final String symbol;
 
@@ -26,6 +39,25 @@ public enum ExtendedOperation implements Operation {
         return symbol;
     }
 
+    // Each constant runs its own loop, so apply is not dispatched per element
+    @Override
+    public void applyBatch(double[] x, double[] y, double[] out, int off, int len) {
+        Objects.checkFromIndexSize(off, len, x.length);
+        Objects.checkFromIndexSize(off, len, y.length);
+        Objects.checkFromIndexSize(off, len, out.length);
+        applyRange(x, y, out, off, off + len);
+    }
+
+    abstract void applyRange(double[] x, double[] y, double[] out, int from, int to);
+
+    // Makes the constants discoverable through OperationRegistry.load()
+    public static final class Provider implements OperationProvider {
+        @Override
+        public Collection<? extends Operation> operations() {
+            return Arrays.asList(values());
+        }
+    }
+
 //    // Using an enum class object to represent a collection of extended enums (page 178)
 //    public static void main(String[] args) {
 //        double x = Double.parseDouble(args[0]);
@@ -1,6 +1,44 @@
 package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
 
+import java.util.Objects;
+import java.util.stream.IntStream;
+
 // Emulated extensible enum using an interface
 public interface Operation {
     double apply(double x, double y);
+
+    /**
+     * Columnar variant of {@link #apply}: out[i] = apply(x[i], y[i]) for i in [off, off + len).
+     * Implementations may override it with a tight loop of their own.
+     */
+    default void applyBatch(double[] x, double[] y, double[] out, int off, int len) {
+        checkBatch(x, y, out, off, len);
+        for (int i = off; i < off + len; i++)
+            out[i] = apply(x[i], y[i]);
+    }
+
+    /**
+     * Same as {@link #applyBatch}, but ranges of at least 2^16 elements are cut into
+     * 2^14-element chunks, and applyBatch runs on the chunks in parallel.
+     */
+    default void applyBatchParallel(double[] x, double[] y, double[] out, int off, int len) {
+        int parallelThreshold = 1 << 16;
+        int chunkSize = 1 << 14;
+        checkBatch(x, y, out, off, len);
+        if (len < parallelThreshold) {
+            applyBatch(x, y, out, off, len);
+            return;
+        }
+        int chunks = (len + chunkSize - 1) / chunkSize;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = off + c * chunkSize;
+            applyBatch(x, y, out, from, Math.min(chunkSize, off + len - from));
+        });
+    }
+
+    private static void checkBatch(double[] x, double[] y, double[] out, int off, int len) {
+        Objects.checkFromIndexSize(off, len, x.length);
+        Objects.checkFromIndexSize(off, len, y.length);
+        Objects.checkFromIndexSize(off, len, out.length);
+    }
 }
@@ -0,0 +1,11 @@
+package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
+
+import java.util.Collection;
+
+/**
+ * SERVICE PROVIDER for emulated extensible enums.
+ * Enums can't be loaded by ServiceLoader themselves, so each enum ships a small provider.
+ */
+public interface OperationProvider {
+    Collection<? extends Operation> operations();
+}
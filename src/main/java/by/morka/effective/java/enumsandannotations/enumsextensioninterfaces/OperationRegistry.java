@@ -0,0 +1,128 @@
+package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.ServiceLoader;
+
+/**
+ * Assigns every registered operation a dense global id, so callers can keep
+ * an int instead of an Operation.
+ * <p>
+ * apply(id, x, y) does not call Operation.apply through one shared call site. It goes through
+ * a MethodHandle tree built once the plugins are known: guardWithTest nodes binary-search the id,
+ * and each leaf is apply bound to one constant, so no leaf ever sees a second receiver type.
+ * The JIT can fold the tree only when the registry is a constant, so keep it in a static final field.
+ * Callers with a fixed operation can take {@link #handle(int)} and skip the tree entirely.
+ */
+public final class OperationRegistry {
+    private static final MethodType APPLY_TYPE =
+            MethodType.methodType(double.class, double.class, double.class);
+    private static final MethodHandle APPLY;
+    private static final MethodHandle LESS_THAN;
+    private static final MethodHandle NO_SUCH_ID;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            APPLY = lookup.findVirtual(Operation.class, "apply", APPLY_TYPE);
+            LESS_THAN = lookup.findStatic(OperationRegistry.class, "lessThan",
+                    MethodType.methodType(boolean.class, int.class, int.class));
+            NO_SUCH_ID = lookup.findStatic(OperationRegistry.class, "noSuchId",
+                    MethodType.methodType(double.class, int.class, double.class, double.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Operation[] byId;
+    private final Map<Operation, Integer> ids;
+    private final MethodHandle[] handles;
+    // (int id, double x, double y) double
+    private final MethodHandle dispatcher;
+
+    private OperationRegistry(List<Operation> ops) {
+        byId = ops.toArray(new Operation[0]);
+        ids = new HashMap<>();
+        handles = new MethodHandle[byId.length];
+        for (int id = 0; id < byId.length; id++) {
+            if (ids.putIfAbsent(byId[id], id) != null)
+                throw new IllegalArgumentException("Registered twice: " + byId[id]);
+            handles[id] = APPLY.bindTo(byId[id]);
+        }
+        dispatcher = byId.length == 0 ? NO_SUCH_ID : MethodHandles.guardWithTest(
+                MethodHandles.insertArguments(LESS_THAN, 1, 0),
+                NO_SUCH_ID,
+                MethodHandles.guardWithTest(
+                        MethodHandles.insertArguments(LESS_THAN, 1, byId.length),
+                        tree(0, byId.length),
+                        NO_SUCH_ID));
+    }
+
+    public static OperationRegistry of(Collection<? extends Operation> ops) {
+        return new OperationRegistry(new ArrayList<>(ops));
+    }
+
+    // Discovers every OperationProvider listed in META-INF/services
+    public static OperationRegistry load() {
+        List<Operation> ops = new ArrayList<>();
+        for (OperationProvider provider : ServiceLoader.load(OperationProvider.class))
+            ops.addAll(provider.operations());
+        return new OperationRegistry(ops);
+    }
+
+    public int size() {
+        return byId.length;
+    }
+
+    public int id(Operation op) {
+        Integer id = ids.get(op);
+        if (id == null)
+            throw new NoSuchElementException("Not registered: " + op);
+        return id;
+    }
+
+    public Operation byId(int id) {
+        return byId[id];
+    }
+
+    // (double x, double y) double, bound to one operation; a call site holding it stays monomorphic
+    public MethodHandle handle(int id) {
+        return handles[id];
+    }
+
+    public double apply(int id, double x, double y) {
+        try {
+            return (double) dispatcher.invokeExact(id, x, y);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t); // Operation.apply declares no checked exceptions
+        }
+    }
+
+    // Dispatcher for ids in [from, to): a guardWithTest binary search down to bound leaves
+    private MethodHandle tree(int from, int to) {
+        if (to - from == 1)
+            return MethodHandles.dropArguments(handles[from], 0, int.class);
+        int mid = (from + to) >>> 1;
+        return MethodHandles.guardWithTest(
+                MethodHandles.insertArguments(LESS_THAN, 1, mid),
+                tree(from, mid),
+                tree(mid, to));
+    }
+
+    private static boolean lessThan(int id, int bound) {
+        return id < bound;
+    }
+
+    private static double noSuchId(int id, double x, double y) {
+        throw new IndexOutOfBoundsException("No operation with id " + id);
+    }
+}
@@ -0,0 +1,99 @@
+package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Char-indexed symbol lookup over any mix of emulated-enum operations
+ * (BasicOperation, ExtendedOperation, ...). Every symbol must be a single char.
+ */
+public final class OperationTable {
+    private final Operation[] byChar;
+
+    private OperationTable(Operation[] byChar) {
+        this.byChar = byChar;
+    }
+
+    public static OperationTable of(Collection<? extends Operation> ops) {
+        int size = 0;
+        for (Operation op : ops)
+            size = Math.max(size, symbolOf(op) + 1);
+        Operation[] byChar = new Operation[size];
+        for (Operation op : ops) {
+            char c = symbolOf(op);
+            if (byChar[c] != null && byChar[c] != op)
+                throw new IllegalArgumentException(
+                        "Duplicate symbol '" + c + "': " + byChar[c] + ", " + op);
+            byChar[c] = op;
+        }
+        return new OperationTable(byChar);
+    }
+
+    // Using enum class objects to represent a collection of extended enums
+    @SafeVarargs
+    public static OperationTable ofEnums(Class<? extends Operation>... opEnumTypes) {
+        List<Operation> ops = new ArrayList<>();
+        for (Class<? extends Operation> type : opEnumTypes) {
+            Operation[] constants = type.getEnumConstants();
+            if (constants == null)
+                throw new IllegalArgumentException("Not an enum: " + type.getName());
+            ops.addAll(Arrays.asList(constants));
+        }
+        return of(ops);
+    }
+
+    private static char symbolOf(Operation op) {
+        String symbol = op.toString();
+        if (symbol.length() != 1)
+            throw new IllegalArgumentException("Not a single-char symbol: " + symbol);
+        return symbol.charAt(0);
+    }
+
+    public Optional<Operation> fromChar(char symbol) {
+        return Optional.ofNullable(lookup(symbol));
+    }
+
+    public Optional<Operation> fromString(String symbol) {
+        return symbol.length() == 1 ? fromChar(symbol.charAt(0)) : Optional.empty();
+    }
+
+    private Operation lookup(char c) {
+        return c < byChar.length ? byChar[c] : null;
+    }
+
+    /**
+     * Receives tokens as positions in the scanned input, so no substrings are created.
+     */
+    public interface TokenHandler {
+        void operand(CharSequence input, int start, int end);
+
+        void operation(Operation op, int index);
+    }
+
+    /**
+     * Splits input into operations and operands. Whitespace separates tokens,
+     * every known symbol is an operation, any other run of chars is an operand.
+     */
+    public void tokenize(CharSequence input, TokenHandler handler) {
+        int start = -1;
+        for (int i = 0, n = input.length(); i < n; i++) {
+            char c = input.charAt(i);
+            Operation op = lookup(c);
+            if (op != null || Character.isWhitespace(c)) {
+                if (start >= 0) {
+                    handler.operand(input, start, i);
+                    start = -1;
+                }
+                if (op != null)
+                    handler.operation(op, i);
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0)
+            handler.operand(input, start, input.length());
+    }
+}
@@ -1,24 +1,54 @@
 package by.morka.effective.java.enumsandannotations.useenumsinsteadofints;
 
+import by.morka.effective.java.enumsandannotations.enumsextensioninterfaces.OperationTable;
+
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toMap;
 
 // Enum type with constant-specific class bodies and data
-public enum Operation {
+public enum Operation
+        implements by.morka.effective.java.enumsandannotations.enumsextensioninterfaces.Operation {
     PLUS("+") {
         public double apply(double x, double y) { return x + y; }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] + y[i];
+        }
     },
     MINUS("-") {
         public double apply(double x, double y) { return x - y; }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] - y[i];
+        }
     },
     TIMES("*") {
         public double apply(double x, double y) { return x * y; }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] * y[i];
+        }
     },
     DIVIDE("/") {
         public double apply(double x, double y) { return x / y; }
+
+        @Override
+        void applyRange(double[] x, double[] y, double[] out, int from, int to) {
+            for (int i = from; i < to; i++)
+                out[i] = x[i] / y[i];
+        }
     };
 
     private final String symbol;
@@ -33,14 +63,61 @@ public enum Operation {
 
     public abstract double apply(double x, double y);
 
+    // Arrays at least this long are split across the common fork-join pool
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Columnar variant of {@link #apply}: out[i] = x[i] op y[i] for i in [off, off + len).
+     * Each constant overrides the loop itself, so the body has no per-element dispatch.
+     */
+    public void applyBatch(double[] x, double[] y, double[] out, int off, int len) {
+        checkBatch(x, y, out, off, len);
+        applyRange(x, y, out, off, off + len);
+    }
+
+    /**
+     * Same as {@link #applyBatch}, but large ranges are processed in chunks in parallel.
+     */
+    public void applyBatchParallel(double[] x, double[] y, double[] out, int off, int len) {
+        checkBatch(x, y, out, off, len);
+        if (len < PARALLEL_THRESHOLD) {
+            applyRange(x, y, out, off, off + len);
+            return;
+        }
+        int chunks = (len + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = off + c * CHUNK_SIZE;
+            applyRange(x, y, out, from, Math.min(from + CHUNK_SIZE, off + len));
+        });
+    }
+
+    abstract void applyRange(double[] x, double[] y, double[] out, int from, int to);
+
+    private static void checkBatch(double[] x, double[] y, double[] out, int off, int len) {
+        Objects.checkFromIndexSize(off, len, x.length);
+        Objects.checkFromIndexSize(off, len, y.length);
+        Objects.checkFromIndexSize(off, len, out.length);
+    }
+
     // Implementing a fromString method on an enum type
     private static final Map<String, Operation> stringToEnum =
             Stream.of(values()).collect(
                     toMap(Object::toString, e -> e));
 
-    // Returns Operation for string, if any
+    // Returns Operation for string, if any; single-char symbols skip the map
     public static Optional<Operation> fromString(String symbol) {
-        return Optional.ofNullable(stringToEnum.get(symbol));
+        return symbol.length() == 1
+                ? fromChar(symbol.charAt(0))
+                : Optional.ofNullable(stringToEnum.get(symbol));
+    }
+
+    // All symbols are single chars, so the shared char-indexed table beats the map
+    private static final OperationTable symbols = OperationTable.of(Arrays.asList(values()));
+
+    // Returns Operation for a single-char symbol, if any
+    public static Optional<Operation> fromChar(char symbol) {
+        return symbols.fromChar(symbol).map(Operation.class::cast);
     }
 
     public static void main(String[] args) {
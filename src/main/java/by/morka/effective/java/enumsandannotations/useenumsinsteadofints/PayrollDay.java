@@ -1,5 +1,8 @@
 package by.morka.effective.java.enumsandannotations.useenumsinsteadofints;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 public enum PayrollDay {
     MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY,
     SATURDAY(PayType.WEEKEND), SUNDAY(PayType.WEEKEND);
@@ -14,8 +17,57 @@ public enum PayrollDay {
         this(PayType.WEEKDAY);
     }
 
+    /**
+     * @throws ArithmeticException if the pay doesn't fit in an int
+     */
     public int pay(int minutesWorked, int payRate) {
-        return this.payType.pay(minutesWorked, payRate);
+        return Math.toIntExact(this.payType.pay(minutesWorked, payRate));
+    }
+
+    // Pay types with at least this many rows are split across the common fork-join pool
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Batch variant for columnar timesheets: result[i] = days[i] pay for
+     * minutes[i] at rates[i], computed in long.
+     * 1. A counting pass groups the row indices by pay type.
+     * 2. Each pay type then runs its own loop over its rows, with no per-row dispatch.
+     */
+    public static long[] pay(PayrollDay[] days, int[] minutes, int[] rates) {
+        int n = days.length;
+        if (minutes.length != n || rates.length != n)
+            throw new IllegalArgumentException(String.format(
+                    "Column lengths differ: days=%d, minutes=%d, rates=%d",
+                    n, minutes.length, rates.length));
+        PayType[] types = PayType.values();
+        // start[t] .. start[t + 1] is the slice of rows paid as types[t]
+        int[] start = new int[types.length + 1];
+        for (PayrollDay day : days)
+            start[day.payType.ordinal() + 1]++;
+        for (int t = 0; t < types.length; t++)
+            start[t + 1] += start[t];
+        int[] rows = new int[n];
+        int[] next = Arrays.copyOf(start, types.length);
+        for (int i = 0; i < n; i++)
+            rows[next[days[i].payType.ordinal()]++] = i;
+
+        long[] result = new long[n];
+        for (PayType type : types) {
+            int from = start[type.ordinal()];
+            int to = start[type.ordinal() + 1];
+            if (to - from < PARALLEL_THRESHOLD) {
+                type.payRows(rows, from, to, minutes, rates, result);
+                continue;
+            }
+            int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int chunkFrom = from + c * CHUNK_SIZE;
+                type.payRows(rows, chunkFrom, Math.min(chunkFrom + CHUNK_SIZE, to),
+                        minutes, rates, result);
+            });
+        }
+        return result;
     }
 
     /**
@@ -24,23 +76,46 @@ public enum PayrollDay {
      */
     private enum PayType {
         WEEKDAY {
-            int overtimePay(int minsWorked, int payRate) {
-                return minsWorked <= MINS_PER_SHIFT ? 0 :
-                        (minsWorked - MINS_PER_SHIFT) * payRate / 2;
+            long overtimePay(long minsWorked, long payRate) {
+                return Math.max(0, minsWorked - MINS_PER_SHIFT) * payRate / 2;
+            }
+
+            @Override
+            void payRows(int[] rows, int from, int to, int[] minutes, int[] rates, long[] result) {
+                for (int k = from; k < to; k++) {
+                    int i = rows[k];
+                    long mins = minutes[i];
+                    long rate = rates[i];
+                    result[i] = mins * rate + Math.max(0, mins - MINS_PER_SHIFT) * rate / 2;
+                }
             }
         },
         WEEKEND {
-            int overtimePay(int minsWorked, int payRate) {
+            long overtimePay(long minsWorked, long payRate) {
                 return minsWorked * payRate / 2;
             }
+
+            @Override
+            void payRows(int[] rows, int from, int to, int[] minutes, int[] rates, long[] result) {
+                for (int k = from; k < to; k++) {
+                    int i = rows[k];
+                    long mins = minutes[i];
+                    long rate = rates[i];
+                    result[i] = mins * rate + mins * rate / 2;
+                }
+            }
         };
 
         private static final int MINS_PER_SHIFT = 8 * 60;
 
-        abstract int overtimePay(int minutesWorked, int payRate);
+        // long arithmetic: int overflows for long shifts at high rates
+        abstract long overtimePay(long minutesWorked, long payRate);
+
+        // result[i] = pay for every row i in rows[from, to); same formula as pay
+        abstract void payRows(int[] rows, int from, int to, int[] minutes, int[] rates, long[] result);
 
-        public int pay(int minutesWorked, int payRate) {
-            int basePay = minutesWorked * payRate;
+        public long pay(long minutesWorked, long payRate) {
+            long basePay = minutesWorked * payRate;
             return basePay + overtimePay(minutesWorked, payRate);
         }
     }
@@ -0,0 +1,49 @@
+package by.morka.effective.java.enumsandannotations.useenumsinsteadofints;
+
+import java.util.Objects;
+
+/**
+ * Bulk weight conversions for Planet.
+ * values() is cloned once and surface gravities are kept in a plain array indexed by ordinal,
+ * so the loops below are simple multiply-by-constant loops.
+ */
+public final class PlanetTable {
+    private static final Planet[] PLANETS = Planet.values();
+    private static final double[] SURFACE_GRAVITY = new double[PLANETS.length];
+
+    static {
+        for (Planet p : PLANETS)
+            SURFACE_GRAVITY[p.ordinal()] = p.surfaceGravity();
+    }
+
+    private PlanetTable() {
+        throw new AssertionError();
+    }
+
+    public static int planetCount() {
+        return PLANETS.length;
+    }
+
+    // out[i] = weight on planet p of masses[i]
+    public static void surfaceWeights(double[] masses, Planet p, double[] out) {
+        Objects.checkFromIndexSize(0, masses.length, out.length);
+        double g = SURFACE_GRAVITY[p.ordinal()];
+        for (int i = 0; i < masses.length; i++)
+            out[i] = masses[i] * g;
+    }
+
+    /**
+     * Fills a planet-major matrix: out[p.ordinal() * masses.length + i] = weight on p of masses[i].
+     * One contiguous row per planet keeps every inner loop a straight array pass.
+     */
+    public static void surfaceWeights(double[] masses, double[] out) {
+        int n = masses.length;
+        Objects.checkFromIndexSize(0, PLANETS.length * n, out.length);
+        for (int p = 0; p < PLANETS.length; p++) {
+            double g = SURFACE_GRAVITY[p];
+            int row = p * n;
+            for (int i = 0; i < n; i++)
+                out[row + i] = masses[i] * g;
+        }
+    }
+}
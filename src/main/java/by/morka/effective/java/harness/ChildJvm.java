@@ -0,0 +1,71 @@
+package by.morka.effective.java.harness;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs a measurement in a fresh JVM, so nothing is warm, cached or left on the heap
+ * from an earlier run.
+ * 1. The child is started on this JVM's class path, plus any extra entries, with its own
+ * JVM options and arguments.
+ * 2. It prints its result on stdout; the parent gets that output back and takes medians.
+ */
+public final class ChildJvm {
+
+    private ChildJvm() {
+    }
+
+    public static String run(Class<?> mainClass, List<String> jvmOptions, String... args)
+            throws IOException, InterruptedException {
+        return run(mainClass, List.of(), jvmOptions, args);
+    }
+
+    // Extra class path entries come first, ahead of this JVM's own
+    public static String run(Class<?> mainClass, List<Path> classPath, List<String> jvmOptions,
+                             String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        StringBuilder cp = new StringBuilder();
+        for (Path entry : classPath)
+            cp.append(entry).append(File.pathSeparator);
+        command.add("-cp");
+        command.add(cp.append(System.getProperty("java.class.path")).toString());
+        command.add(mainClass.getName());
+        command.addAll(Arrays.asList(args));
+
+        Process p = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String output = new String(p.getInputStream().readAllBytes()).trim();
+        if (p.waitFor() != 0)
+            throw new IllegalStateException("Child JVM failed: " + output);
+        return output;
+    }
+
+    public static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // Heap in use once repeated full GCs stop freeing anything; called in the child
+    public static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            memory.gc();
+            long now = memory.getHeapMemoryUsage().getUsed();
+            if (now >= used)
+                return now;
+            used = now;
+        }
+        return used;
+    }
+}
@@ -5,7 +5,7 @@ import static by.morka.effective.java.objectscreationdestruction.builderpattern.
 public class Calzone extends Pizza {
     private final boolean sauceInside;
 
-    Calzone calzone = new Calzone.Builder()
+    static Calzone calzone = new Calzone.Builder()
             .addTopping(HAM).sauceInside().build();
 
     private Calzone(Builder builder) {
@@ -16,14 +16,24 @@ public class Calzone extends Pizza {
     public static class Builder extends Pizza.Builder<Builder> {
         private boolean sauceInside = false;
 
+        // A builder preset to the prototype; build() returns the prototype itself if nothing changes
+        public static Builder from(Calzone prototype) {
+            Builder builder = new Builder().startFrom(prototype);
+            builder.sauceInside = prototype.sauceInside;
+            return builder;
+        }
+
         public Builder sauceInside() {
-            sauceInside = true;
+            if (!sauceInside) {
+                sauceInside = true;
+                changed();
+            }
             return this;
         }
 
         @Override
         public Calzone build() {
-            return new Calzone(this);
+            return prototype != null ? (Calzone) prototype : new Calzone(this);
         }
 
         @Override
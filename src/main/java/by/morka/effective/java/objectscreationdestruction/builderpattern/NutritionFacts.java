@@ -17,9 +17,37 @@ public class NutritionFacts {
         carbohydrate = builder.carbohydrate;
     }
 
+    public int servingSize() {
+        return servingSize;
+    }
+
+    public int servings() {
+        return servings;
+    }
+
+    public int calories() {
+        return calories;
+    }
+
+    public int fat() {
+        return fat;
+    }
+
+    public int sodium() {
+        return sodium;
+    }
+
+    public int carbohydrate() {
+        return carbohydrate;
+    }
+
+    /**
+     * build() copies every field, so one builder can be reset and reused for many products.
+     * A builder itself is not thread-safe: reuse it on one thread, e.g. from a ThreadLocal.
+     */
     public static class Builder {
-        private final int servingSize;
-        private final int servings;
+        private int servingSize;
+        private int servings;
         private int calories = 0;
         private int fat = 0;
         private int sodium = 0;
@@ -30,6 +58,17 @@ public class NutritionFacts {
             this.servings = servings;
         }
 
+        // Starts a new product: required parameters replaced, optional ones back to defaults
+        public Builder reset(int servingSize, int servings) {
+            this.servingSize = servingSize;
+            this.servings = servings;
+            calories = 0;
+            fat = 0;
+            sodium = 0;
+            carbohydrate = 0;
+            return this;
+        }
+
         public Builder calories(int val) {
             calories = val;
             return this;
@@ -0,0 +1,118 @@
+package by.morka.effective.java.objectscreationdestruction.builderpattern;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Column store for bulk imports where an object per record isn't needed:
+ * one int[] per field, and a reusable Row view (flyweight) to read a record.
+ * Objects are only created on request via toNutritionFacts.
+ */
+public final class NutritionFactsTable {
+    private int size;
+    private int[] servingSize;
+    private int[] servings;
+    private int[] calories;
+    private int[] fat;
+    private int[] sodium;
+    private int[] carbohydrate;
+
+    public NutritionFactsTable(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("initialCapacity < 0: " + initialCapacity);
+        servingSize = new int[initialCapacity];
+        servings = new int[initialCapacity];
+        calories = new int[initialCapacity];
+        fat = new int[initialCapacity];
+        sodium = new int[initialCapacity];
+        carbohydrate = new int[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Appends a record and returns its row index
+    public int add(int servingSize, int servings,
+                   int calories, int fat, int sodium, int carbohydrate) {
+        if (size == this.servingSize.length)
+            grow();
+        this.servingSize[size] = servingSize;
+        this.servings[size] = servings;
+        this.calories[size] = calories;
+        this.fat[size] = fat;
+        this.sodium[size] = sodium;
+        this.carbohydrate[size] = carbohydrate;
+        return size++;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, size * 2);
+        servingSize = Arrays.copyOf(servingSize, capacity);
+        servings = Arrays.copyOf(servings, capacity);
+        calories = Arrays.copyOf(calories, capacity);
+        fat = Arrays.copyOf(fat, capacity);
+        sodium = Arrays.copyOf(sodium, capacity);
+        carbohydrate = Arrays.copyOf(carbohydrate, capacity);
+    }
+
+    public NutritionFacts toNutritionFacts(int row) {
+        Objects.checkIndex(row, size);
+        return new NutritionFacts.Builder(servingSize[row], servings[row])
+                .calories(calories[row]).fat(fat[row])
+                .sodium(sodium[row]).carbohydrate(carbohydrate[row])
+                .build();
+    }
+
+    public Row row() {
+        return new Row();
+    }
+
+    /**
+     * Flyweight view: one instance can be moved over every row.
+     * Reads the table directly, so it sees later writes to the row it points at.
+     */
+    public final class Row {
+        // -1 until moveTo is called, so an unpositioned view can't silently read row 0
+        private int row = -1;
+
+        private Row() {
+        }
+
+        public Row moveTo(int row) {
+            this.row = Objects.checkIndex(row, size);
+            return this;
+        }
+
+        // Rows are never removed, so a row that was valid for moveTo stays valid
+        private int row() {
+            if (row < 0)
+                throw new IllegalStateException("Row view not positioned; call moveTo first");
+            return row;
+        }
+
+        public int servingSize() {
+            return servingSize[row()];
+        }
+
+        public int servings() {
+            return servings[row()];
+        }
+
+        public int calories() {
+            return calories[row()];
+        }
+
+        public int fat() {
+            return fat[row()];
+        }
+
+        public int sodium() {
+            return sodium[row()];
+        }
+
+        public int carbohydrate() {
+            return carbohydrate[row()];
+        }
+    }
+}
@@ -8,7 +8,7 @@ import static by.morka.effective.java.objectscreationdestruction.builderpattern.
 public class NyPizza extends Pizza {
     private final Size size;
 
-    NyPizza pizza = new NyPizza.Builder(Size.SMALL)
+    static NyPizza pizza = new NyPizza.Builder(Size.SMALL)
             .addTopping(SAUSAGE).addTopping(ONION).build();
 
     private NyPizza(Builder builder) {
@@ -25,9 +25,14 @@ public class NyPizza extends Pizza {
             this.size = Objects.requireNonNull(size);
         }
 
+        // A builder preset to the prototype; build() returns the prototype itself if nothing changes
+        public static Builder from(NyPizza prototype) {
+            return new Builder(prototype.size).startFrom(prototype);
+        }
+
         @Override
         public NyPizza build() {
-            return new NyPizza(this);
+            return prototype != null ? (NyPizza) prototype : new NyPizza(this);
         }
 
         @Override
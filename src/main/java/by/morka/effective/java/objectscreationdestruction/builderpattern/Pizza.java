@@ -1,6 +1,9 @@
 package by.morka.effective.java.objectscreationdestruction.builderpattern;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -8,19 +11,75 @@ public abstract class Pizza {
     final Set<Topping> toppings;
 
     Pizza(Builder<?> builder) {
-        toppings = builder.toppings.clone();
+        toppings = canonical(builder.toppings);
     }
 
     public enum Topping {HAM, MUSHROOM, ONION, PEPPER, SAUSAGE}
 
+    /**
+     * Every combination of toppings as a frozen set, indexed by the bitmask of its ordinals.
+     * Pizzas share these instead of each owning a copy of the builder's EnumSet.
+     */
+    private static final List<Set<Topping>> toppingSets;
+
+    static {
+        Topping[] all = Topping.values();
+        if (all.length > Integer.SIZE - 1)
+            throw new AssertionError("Topping no longer fits in an int mask: " + all.length);
+        List<Set<Topping>> sets = new ArrayList<>(1 << all.length);
+        for (int mask = 0; mask < 1 << all.length; mask++) {
+            Set<Topping> set = EnumSet.noneOf(Topping.class);
+            for (Topping t : all) {
+                if ((mask & 1 << t.ordinal()) != 0)
+                    set.add(t);
+            }
+            sets.add(Collections.unmodifiableSet(set));
+        }
+        toppingSets = List.copyOf(sets);
+    }
+
+    static Set<Topping> canonical(Set<Topping> toppings) {
+        int mask = 0;
+        for (Topping t : toppings)
+            mask |= 1 << t.ordinal();
+        return toppingSets.get(mask);
+    }
+
     abstract static class Builder<R extends Builder<R>> {
-        EnumSet<Topping> toppings = EnumSet.noneOf(Topping.class);
+        Set<Topping> toppings = EnumSet.noneOf(Topping.class);
+        // true while toppings is a prototype's shared, frozen set
+        private boolean sharedToppings;
+        // The prototype this builder started from, until anything is changed
+        Pizza prototype;
 
         public R addTopping(Topping topping) {
-            toppings.add(Objects.requireNonNull(topping));
+            if (!toppings.contains(Objects.requireNonNull(topping))) {
+                if (sharedToppings) {
+                    // Copy the current set: prototype is already null if another field changed first
+                    Set<Topping> copy = EnumSet.noneOf(Topping.class);
+                    copy.addAll(toppings);
+                    toppings = copy;
+                    sharedToppings = false;
+                }
+                toppings.add(topping);
+                changed();
+            }
             return self();
         }
 
+        // Starts from a prototype; its toppings are copied only on the first change
+        R startFrom(Pizza prototype) {
+            this.toppings = prototype.toppings;
+            this.sharedToppings = true;
+            this.prototype = prototype;
+            return self();
+        }
+
+        // Called by every setter that changes the pizza being built
+        void changed() {
+            prototype = null;
+        }
+
         abstract Pizza build();
 
         protected abstract R self();
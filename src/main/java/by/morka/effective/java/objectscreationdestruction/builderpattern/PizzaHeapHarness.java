@@ -0,0 +1,80 @@
+package by.morka.effective.java.objectscreationdestruction.builderpattern;
+
+import by.morka.effective.java.harness.ChildJvm;
+import by.morka.effective.java.objectscreationdestruction.builderpattern.Pizza.Topping;
+
+import java.lang.ref.Reference;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Retained heap of N pizza orders, with the shared canonical topping sets versus
+ * one EnumSet copy per pizza, as Pizza kept before the sets were shared.
+ * 1. Both modes build the same N pizzas and keep them, with a second array holding
+ * each pizza's topping set: the canonical set itself, or a private copy of it.
+ * 2. Each mode runs in a fresh JVM with the serial collector and reports used heap
+ * after full GCs, with the orders still reachable.
+ * <p>
+ * Usage: PizzaHeapHarness [--orders N] [--jvms N]
+ */
+public class PizzaHeapHarness {
+
+    enum Mode {CANONICAL, COPIED}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(Mode.valueOf(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        int orders = 10_000_000;
+        int jvms = 3;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--orders" -> orders = Integer.parseInt(args[++i]);
+                case "--jvms" -> jvms = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        System.out.printf("%d orders, %d fresh JVMs per mode (medians)%n", orders, jvms);
+        for (Mode mode : Mode.values()) {
+            long[] used = new long[jvms];
+            for (int j = 0; j < jvms; j++)
+                used[j] = Long.parseLong(ChildJvm.run(PizzaHeapHarness.class,
+                        List.of("-XX:+UseSerialGC", "-Xmx2g"),
+                        "--child", mode.name(), String.valueOf(orders)));
+            long median = ChildJvm.median(used);
+            System.out.printf("%-10s %7.1f MB used after GC, %5.1f bytes per order%n",
+                    mode, median / 1e6, (double) median / orders);
+        }
+    }
+
+    // Runs in the child JVM: prints used heap after GC with all orders still held
+    private static void child(Mode mode, int orders) {
+        Topping[] all = Topping.values();
+        NyPizza.Size[] sizes = NyPizza.Size.values();
+        Pizza[] pizzas = new Pizza[orders];
+        Object[] toppings = new Object[orders];
+        for (int i = 0; i < orders; i++) {
+            NyPizza.Builder builder = new NyPizza.Builder(sizes[i % sizes.length]);
+            // Cycles through all 32 topping combinations
+            for (Topping t : all) {
+                if ((i >> t.ordinal() & 1) != 0)
+                    builder.addTopping(t);
+            }
+            Pizza pizza = builder.build();
+            pizzas[i] = pizza;
+            if (mode == Mode.CANONICAL) {
+                toppings[i] = pizza.toppings;
+            } else {
+                Set<Topping> copy = EnumSet.noneOf(Topping.class);
+                copy.addAll(pizza.toppings);
+                toppings[i] = copy;
+            }
+        }
+        long used = ChildJvm.usedHeapAfterGc();
+        Reference.reachabilityFence(pizzas);
+        Reference.reachabilityFence(toppings);
+        System.out.println(used);
+    }
+}
@@ -0,0 +1,69 @@
+package by.morka.effective.java.objectscreationdestruction.builderpattern;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Named, prebuilt pizzas ("Margherita large") shared between threads.
+ * Holds at most maxSize presets and evicts the least recently used one.
+ * 1. Hits are lock-free reads of a ConcurrentHashMap.
+ * 2. Presets are built outside any lock; if two threads build the same one, the first stored wins.
+ * 3. Eviction scans for the oldest use, but only when an insert goes over maxSize.
+ */
+public final class PizzaPresets<P extends Pizza> {
+    private static final class Entry<P> {
+        final P pizza;
+        volatile long lastUsed;
+
+        Entry(P pizza, long lastUsed) {
+            this.pizza = pizza;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry<P>> presets = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final int maxSize;
+
+    public PizzaPresets(int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize < 1: " + maxSize);
+        this.maxSize = maxSize;
+    }
+
+    // Returns the named preset, building it with factory on first use
+    public P get(String name, Supplier<? extends P> factory) {
+        Entry<P> entry = presets.get(name);
+        if (entry != null) {
+            entry.lastUsed = clock.incrementAndGet();
+            return entry.pizza;
+        }
+        Entry<P> built = new Entry<>(factory.get(), clock.incrementAndGet());
+        entry = presets.putIfAbsent(name, built);
+        if (entry != null) {
+            entry.lastUsed = clock.incrementAndGet();
+            return entry.pizza;
+        }
+        evictEldest();
+        return built.pizza;
+    }
+
+    public int size() {
+        return presets.size();
+    }
+
+    private void evictEldest() {
+        while (presets.size() > maxSize) {
+            Map.Entry<String, Entry<P>> eldest = null;
+            for (Map.Entry<String, Entry<P>> e : presets.entrySet()) {
+                if (eldest == null || e.getValue().lastUsed < eldest.getValue().lastUsed)
+                    eldest = e;
+            }
+            if (eldest == null)
+                return;
+            presets.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+}
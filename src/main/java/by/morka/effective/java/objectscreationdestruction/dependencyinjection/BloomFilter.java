@@ -0,0 +1,63 @@
+package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
+
+/**
+ * Probabilistic set of words: mightContain never gives a false negative,
+ * and gives a false positive with about the probability the filter was sized for.
+ */
+final class BloomFilter {
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+
+    BloomFilter(int expectedWords, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("falsePositiveRate not in (0, 1): " + falsePositiveRate);
+        int n = Math.max(1, expectedWords);
+        // Standard sizing: m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) ((m + 63) / 64)];
+        this.numBits = bits.length * 64L;
+        this.numHashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    void add(CharSequence word) {
+        long hash = hash(word);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(CharSequence word) {
+        long hash = hash(word);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+            if ((bits[(int) (bit >>> 6)] & 1L << bit) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return bits.length * 8L;
+    }
+
+    // 64-bit FNV-1a over the chars, then a murmur3 finalizer to spread the bits
+    private static long hash(CharSequence word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = word.length(); i < n; i++) {
+            h ^= word.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
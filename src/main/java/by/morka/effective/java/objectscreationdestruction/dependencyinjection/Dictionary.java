@@ -1,5 +1,16 @@
 package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
 
+import java.util.List;
+
 public interface Dictionary {
-    boolean exists(String word);
+    // CharSequence, so callers can look up a slice of a larger text without a substring
+    boolean exists(CharSequence word);
+
+    // Bulk lookup; implementations with a per-call cost (remote, locked) should override
+    default boolean[] existsAll(List<? extends CharSequence> words) {
+        boolean[] result = new boolean[words.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = exists(words.get(i));
+        return result;
+    }
 }
@@ -0,0 +1,127 @@
+package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
+
+import by.morka.effective.java.harness.ChildJvm;
+
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Heap footprint and lookup rate of MappedDictionary versus a HashSet-backed Dictionary.
+ * 1. Generates N random words of 3-12 letters and writes them as a MappedDictionary file.
+ * 2. Each mode runs in a fresh JVM with the serial collector: it reports the growth of used
+ * heap after full GCs while opening the dictionary, then single-threaded lookups per second
+ * over a query mix of half hits and half misses (13-16 letters, so never in the dictionary).
+ * <p>
+ * Usage: DictionaryHarness [--words N] [--jvms N]
+ */
+public class DictionaryHarness {
+    private static final long WORD_SEED = 42;
+    private static final int QUERIES = 1 << 20;
+
+    enum Mode {HASH_SET, MAPPED}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(Mode.valueOf(args[1]), Path.of(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        int words = 5_000_000;
+        int jvms = 3;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--words" -> words = Integer.parseInt(args[++i]);
+                case "--jvms" -> jvms = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        Path file = Files.createTempFile("dictionary", ".bin");
+        try {
+            MappedDictionary.write(file, words(words));
+            System.out.printf("%d generated words, file of %.1f MB, %d fresh JVMs per mode (medians)%n",
+                    words, Files.size(file) / 1e6, jvms);
+            for (Mode mode : Mode.values()) {
+                long[] heap = new long[jvms];
+                long[] rate = new long[jvms];
+                for (int j = 0; j < jvms; j++) {
+                    String[] line = ChildJvm.run(DictionaryHarness.class,
+                            List.of("-XX:+UseSerialGC", "-Xmx2g"),
+                            "--child", mode.name(), file.toString(), String.valueOf(words)).split(" ");
+                    heap[j] = Long.parseLong(line[0]);
+                    rate[j] = Long.parseLong(line[1]);
+                }
+                System.out.printf("%-9s heap %7.1f MB (%5.1f bytes per word), %6.2f M lookups/s%n",
+                        mode, ChildJvm.median(heap) / 1e6, (double) ChildJvm.median(heap) / words,
+                        ChildJvm.median(rate) / 1e6);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // Runs in the child JVM: prints the heap the dictionary retains and its lookups per second
+    private static void child(Mode mode, Path file, int words) throws Exception {
+        long before = ChildJvm.usedHeapAfterGc();
+        Dictionary dictionary;
+        if (mode == Mode.HASH_SET) {
+            Set<String> set = new HashSet<>(words(words));
+            dictionary = word -> set.contains(word.toString());
+        } else {
+            dictionary = MappedDictionary.open(file);
+        }
+        long heap = ChildJvm.usedHeapAfterGc() - before;
+
+        String[] queries = queries(words);
+        int hits = 0;
+        // One untimed pass to warm up, then whole passes for at least two seconds
+        for (String q : queries)
+            hits += dictionary.exists(q) ? 1 : 0;
+        long lookups = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (String q : queries)
+                hits += dictionary.exists(q) ? 1 : 0;
+            lookups += queries.length;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < 2_000_000_000L);
+        Reference.reachabilityFence(dictionary);
+        if (hits == 0)
+            throw new AssertionError("No query hit the dictionary");
+        System.out.println(heap + " " + (long) (lookups * 1e9 / elapsed));
+    }
+
+    // Deterministic, so the parent and every child see the same words
+    private static List<String> words(int count) {
+        Random random = new Random(WORD_SEED);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            words.add(word(random, 3 + random.nextInt(10)));
+        return words;
+    }
+
+    // Alternates a dictionary word with a word too long to be in it
+    private static String[] queries(int words) {
+        List<String> all = words(words);
+        Random random = new Random(WORD_SEED + 1);
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = i % 2 == 0
+                    ? all.get(random.nextInt(all.size()))
+                    : word(random, 13 + random.nextInt(4));
+        }
+        return queries;
+    }
+
+    private static String word(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+            chars[i] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+}
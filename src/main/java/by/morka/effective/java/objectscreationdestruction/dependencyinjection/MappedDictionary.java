@@ -0,0 +1,114 @@
+package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Dictionary backed by a memory-mapped file of sorted words, so the words live in the
+ * OS page cache instead of the heap. A Bloom filter on the heap answers most misses
+ * without touching the file; hits and false positives are confirmed by binary search.
+ * <p>
+ * File layout: int count, int[count + 1] char offsets, then the chars of all words.
+ */
+public final class MappedDictionary implements Dictionary {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final IntBuffer offsets;
+    private final CharBuffer chars;
+    private final int count;
+    private final BloomFilter filter;
+
+    private MappedDictionary(MappedByteBuffer file) {
+        count = file.getInt(0);
+        offsets = file.position(Integer.BYTES).slice().asIntBuffer().limit(count + 1);
+        chars = file.position(Integer.BYTES * (count + 2)).slice().asCharBuffer();
+        filter = new BloomFilter(count, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < count; i++)
+            filter.add(chars.subSequence(offsets.get(i), offsets.get(i + 1)));
+    }
+
+    public static MappedDictionary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new MappedDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Writes words, sorted and without duplicates, in the layout open() expects
+    public static void write(Path file, Collection<String> words) throws IOException {
+        List<String> sorted = words.stream().sorted().distinct().collect(Collectors.toList());
+        long totalChars = sorted.stream().mapToLong(String::length).sum();
+        long size = Integer.BYTES * (sorted.size() + 2L) + Character.BYTES * totalChars;
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Dictionary too large for one mapping: " + size + " bytes");
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(sorted.size());
+        int offset = 0;
+        for (String word : sorted) {
+            buffer.putInt(offset);
+            offset += word.length();
+        }
+        buffer.putInt(offset);
+        for (String word : sorted) {
+            for (int i = 0; i < word.length(); i++)
+                buffer.putChar(word.charAt(i));
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Heap used by the Bloom filter; the words themselves are off-heap
+    public long filterSizeInBytes() {
+        return filter.sizeInBytes();
+    }
+
+    @Override
+    public boolean exists(CharSequence word) {
+        if (!filter.mightContain(word))
+            return false;
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(mid, word);
+            if (cmp < 0)
+                lo = mid + 1;
+            else if (cmp > 0)
+                hi = mid - 1;
+            else
+                return true;
+        }
+        return false;
+    }
+
+    // Same order as String.compareTo, read straight from the mapped file
+    private int compare(int index, CharSequence word) {
+        int start = offsets.get(index);
+        int length = offsets.get(index + 1) - start;
+        int n = Math.min(length, word.length());
+        for (int i = 0; i < n; i++) {
+            int cmp = Character.compare(chars.get(start + i), word.charAt(i));
+            if (cmp != 0)
+                return cmp;
+        }
+        return Integer.compare(length, word.length());
+    }
+}
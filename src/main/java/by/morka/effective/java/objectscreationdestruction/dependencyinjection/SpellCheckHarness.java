@@ -0,0 +1,109 @@
+package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
+
+import by.morka.effective.java.harness.ChildJvm;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SpellCheckPipeline throughput per core, for each kind of input.
+ * 1. The child JVM generates the same text every time: words from a 50k-word
+ * vocabulary, one in a hundred misspelled, checked against a HashSet dictionary.
+ * 2. Each (input, cores) pair runs in a fresh JVM limited to that many cores with
+ * -XX:ActiveProcessorCount, which also sizes the common pool the chunks run on.
+ * It reports chars checked per second for one pass, after three untimed warm-up passes.
+ * 3. On-stack replacement is off in the child: C2 in JDK 17.0.9 intermittently crashed
+ * OSR-compiling checkChunk's loop. Methods are still JIT-compiled once called often enough.
+ * <p>
+ * Usage: SpellCheckHarness [--megachars N] [--cores N,N,...] [--jvms N]
+ */
+public class SpellCheckHarness {
+    private static final int VOCABULARY = 50_000;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int WARMUP_PASSES = 3;
+
+    enum Input {CHAR_SEQUENCE, UTF8_BYTES, READER}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(Input.valueOf(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        int megachars = 32;
+        int jvms = 3;
+        String cores = "1," + Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--megachars" -> megachars = Integer.parseInt(args[++i]);
+                case "--cores" -> cores = args[++i];
+                case "--jvms" -> jvms = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        System.out.printf("%d M chars, %d available processors, %d fresh JVMs per row (medians)%n",
+                megachars, Runtime.getRuntime().availableProcessors(), jvms);
+        for (String c : cores.split(",")) {
+            int n = Integer.parseInt(c.trim());
+            for (Input input : Input.values()) {
+                long[] rate = new long[jvms];
+                for (int j = 0; j < jvms; j++)
+                    rate[j] = Long.parseLong(ChildJvm.run(SpellCheckHarness.class,
+                            List.of("-XX:ActiveProcessorCount=" + n, "-XX:-UseOnStackReplacement", "-Xmx1g"),
+                            "--child", input.name(), String.valueOf(megachars)));
+                long median = ChildJvm.median(rate);
+                System.out.printf("%d core(s) %-14s %7.1f M chars/s, %6.1f M chars/s per core%n",
+                        n, input, median / 1e6, median / 1e6 / n);
+            }
+        }
+    }
+
+    // Runs in the child JVM: prints chars checked per second
+    private static void child(Input input, int megachars) throws Exception {
+        Random random = new Random(42);
+        List<String> vocabulary = new ArrayList<>(VOCABULARY);
+        for (int i = 0; i < VOCABULARY; i++)
+            vocabulary.add(word(random));
+        Set<String> words = new HashSet<>(vocabulary);
+        StringBuilder sb = new StringBuilder(megachars << 20);
+        while (sb.length() < megachars << 20) {
+            sb.append(random.nextInt(100) == 0 ? word(random) : vocabulary.get(random.nextInt(VOCABULARY)));
+            sb.append(random.nextInt(10) == 0 ? ". " : " ");
+        }
+        String text = sb.toString();
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        SpellCheckPipeline pipeline = new SpellCheckPipeline(word -> words.contains(word.toString()), CHUNK_SIZE);
+
+        for (int i = 0; i < WARMUP_PASSES; i++)
+            run(input, pipeline, text, utf8);
+        long start = System.nanoTime();
+        long misspellings = run(input, pipeline, text, utf8);
+        long elapsed = System.nanoTime() - start;
+        if (misspellings == 0)
+            throw new AssertionError("No misspellings found");
+        System.out.println((long) (text.length() * 1e9 / elapsed));
+    }
+
+    private static long run(Input input, SpellCheckPipeline pipeline, String text, byte[] utf8) throws Exception {
+        LongAdder found = new LongAdder();
+        switch (input) {
+            case CHAR_SEQUENCE -> found.add(pipeline.check(text).size());
+            case UTF8_BYTES -> pipeline.check(ByteBuffer.wrap(utf8), StandardCharsets.UTF_8, m -> found.increment());
+            case READER -> pipeline.check(new StringReader(text), m -> found.increment());
+        }
+        return found.sum();
+    }
+
+    private static String word(Random random) {
+        char[] chars = new char[3 + random.nextInt(8)];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+}
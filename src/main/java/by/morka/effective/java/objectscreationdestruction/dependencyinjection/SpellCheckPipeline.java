@@ -0,0 +1,218 @@
+package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Batch spell checking on top of an injected Dictionary.
+ * 1. Text is split into chunks at non-letter boundaries and chunks are checked in parallel.
+ * 2. Tokens are CharBuffer views into the text, a String is only created for a misspelling.
+ * 3. Each chunk asks the dictionary once, via existsAll, for its distinct tokens.
+ */
+public class SpellCheckPipeline {
+
+    public static final class Misspelling {
+        private final String word;
+        private final long offset;
+
+        Misspelling(String word, long offset) {
+            this.word = word;
+            this.offset = offset;
+        }
+
+        public String word() {
+            return word;
+        }
+
+        // Char offset of the word in the whole input
+        public long offset() {
+            return offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Misspelling))
+                return false;
+            Misspelling other = (Misspelling) o;
+            return offset == other.offset && word.equals(other.word);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(word, offset);
+        }
+
+        @Override
+        public String toString() {
+            return word + "@" + offset;
+        }
+    }
+
+    private final Dictionary dictionary;
+    private final int chunkSize;
+
+    public SpellCheckPipeline(Dictionary dictionary, int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize <= 0: " + chunkSize);
+        this.dictionary = Objects.requireNonNull(dictionary);
+        this.chunkSize = chunkSize;
+    }
+
+    public List<Misspelling> check(CharSequence text) {
+        return check(text, 0);
+    }
+
+    // Decodes through the same bounded window as a Reader, so the decoded text is never held whole
+    public void check(ByteBuffer bytes, Charset charset, Consumer<? super Misspelling> sink)
+            throws CharacterCodingException {
+        check(new Decoding(charset.newDecoder(), bytes), sink);
+    }
+
+    // Streams the reader through a bounded buffer, so input size is not limited by memory
+    public void check(Reader reader, Consumer<? super Misspelling> sink) throws IOException {
+        check(reader::read, sink);
+    }
+
+    // Reader.read(CharBuffer), with the exception type left open
+    private interface CharSource<X extends Exception> {
+        int read(CharBuffer target) throws X;
+    }
+
+    private <X extends Exception> void check(CharSource<X> source, Consumer<? super Misspelling> sink) throws X {
+        int window = chunkSize * Math.max(1, Runtime.getRuntime().availableProcessors());
+        CharBuffer buffer = CharBuffer.allocate(window);
+        long base = 0;
+        while (true) {
+            int read = source.read(buffer);
+            // A short read: fill the window before checking it
+            if (read > 0 && buffer.hasRemaining())
+                continue;
+            if (read < 0 && buffer.position() == 0)
+                return;
+            buffer.flip();
+            // Hold back a trailing partial word until the input has ended
+            int end = read < 0 ? buffer.limit() : lastBoundary(buffer, buffer.limit());
+            if (end == 0) {
+                // One word fills the whole buffer: grow it rather than split the word
+                buffer = CharBuffer.allocate(buffer.capacity() * 2).put(buffer);
+                continue;
+            }
+            check(buffer.subSequence(0, end), base).forEach(sink);
+            base += end;
+            buffer.position(end);
+            buffer.compact();
+        }
+    }
+
+    // Decodes bytes into the caller's window, as much as fits per read
+    private static final class Decoding implements CharSource<CharacterCodingException> {
+        private final CharsetDecoder decoder;
+        private final ByteBuffer bytes;
+        private boolean decoded;
+        private boolean flushed;
+
+        Decoding(CharsetDecoder decoder, ByteBuffer bytes) {
+            this.decoder = decoder;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read(CharBuffer target) throws CharacterCodingException {
+            int start = target.position();
+            if (!decoded) {
+                CoderResult result = decoder.decode(bytes, target, true);
+                if (result.isError())
+                    result.throwException();
+                decoded = result.isUnderflow();
+            }
+            if (decoded && !flushed)
+                flushed = decoder.flush(target).isUnderflow();
+            int read = target.position() - start;
+            // 0 with room left: the next char needs more room than the window has
+            return read == 0 && flushed ? -1 : read;
+        }
+    }
+
+    private List<Misspelling> check(CharSequence text, long base) {
+        List<int[]> chunks = chunks(text);
+        return IntStream.range(0, chunks.size())
+                .parallel()
+                .mapToObj(i -> checkChunk(text, chunks.get(i)[0], chunks.get(i)[1], base))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    // [start, end) ranges of about chunkSize chars, never splitting a word
+    private List<int[]> chunks(CharSequence text) {
+        List<int[]> chunks = new ArrayList<>();
+        int start = 0;
+        int length = text.length();
+        while (start < length) {
+            int end = Math.min(length, start + chunkSize);
+            while (end < length && isWordChar(text.charAt(end)))
+                end++;
+            chunks.add(new int[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private List<Misspelling> checkChunk(CharSequence text, int start, int end, long base) {
+        CharBuffer view = CharBuffer.wrap(text);
+        Map<CharBuffer, Integer> distinct = new HashMap<>();
+        List<CharBuffer> words = new ArrayList<>();
+        List<int[]> tokens = new ArrayList<>(); // {offset, index into words}
+        int i = start;
+        while (i < end) {
+            if (!isWordChar(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int from = i;
+            while (i < end && isWordChar(text.charAt(i)))
+                i++;
+            CharBuffer word = view.subSequence(from, i);
+            Integer index = distinct.putIfAbsent(word, words.size());
+            if (index == null) {
+                index = words.size();
+                words.add(word);
+            }
+            tokens.add(new int[]{from, index});
+        }
+        if (words.isEmpty())
+            return List.of();
+
+        boolean[] exists = dictionary.existsAll(words);
+        List<Misspelling> result = new ArrayList<>();
+        for (int[] token : tokens) {
+            if (!exists[token[1]])
+                result.add(new Misspelling(words.get(token[1]).toString(), base + token[0]));
+        }
+        return result;
+    }
+
+    private static int lastBoundary(CharSequence text, int end) {
+        int i = end;
+        while (i > 0 && isWordChar(text.charAt(i - 1)))
+            i--;
+        return i;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetter(c) || c == '\'';
+    }
+}
@@ -13,7 +13,12 @@ public class SpellChecker {
         this.dictionary = dictionary;
     }
 
-    public boolean isValid(String word) {
+    public boolean isValid(CharSequence word) {
         return dictionary.exists(word);
     }
+
+    // Batch checker over the same injected dictionary
+    public SpellCheckPipeline pipeline(int chunkSize) {
+        return new SpellCheckPipeline(dictionary, chunkSize);
+    }
 }
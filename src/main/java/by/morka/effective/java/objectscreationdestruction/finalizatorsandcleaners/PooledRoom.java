@@ -0,0 +1,71 @@
+package by.morka.effective.java.objectscreationdestruction.finalizatorsandcleaners;
+
+import java.lang.ref.Cleaner;
+
+/**
+ * A lease on a recycled room: close() hands the room back to its pool instead of cleaning it.
+ * The cleanable registered when the room was created stays as a safety net for rooms that are
+ * never closed. Get one from RoomPool.acquire and use it with try-with-resources, on one thread
+ * at a time.
+ * <p>
+ * Every acquire hands out a new lease stamped with the room's generation, and closing it moves
+ * the room on to the next generation. A lease kept after close() is therefore stale: it can't
+ * read the room, and closing it again does nothing, even when the room already serves someone else.
+ */
+public final class PooledRoom implements AutoCloseable {
+    // Must not refer to PooledRoom or Slot, like Room.State
+    private static class State implements Runnable {
+        int numJunkPiles;
+
+        @Override
+        public void run() {
+            numJunkPiles = 0;
+        }
+    }
+
+    // The pooled part: allocated and registered with the Cleaner once, then reused
+    static final class Slot {
+        private final State state = new State();
+        private final Cleaner.Cleanable cleanable;
+        private int generation;
+
+        Slot(Reclaimer reclaimer) {
+            this.cleanable = reclaimer.register(this, state);
+        }
+
+        // Really cleans the room; used when the pool has no space left for it
+        void discard() {
+            cleanable.clean();
+        }
+    }
+
+    private final RoomPool pool;
+    final Slot slot;
+    private final int generation;
+
+    PooledRoom(RoomPool pool, Slot slot, int numJunkPiles) {
+        this.pool = pool;
+        this.slot = slot;
+        this.generation = slot.generation;
+        slot.state.numJunkPiles = numJunkPiles;
+    }
+
+    public int numJunkPiles() {
+        checkCurrent();
+        return slot.state.numJunkPiles;
+    }
+
+    private void checkCurrent() {
+        if (slot.generation != generation)
+            throw new IllegalStateException("Room returned to the pool");
+    }
+
+    // Only the current lease returns the room; a stale or repeated close is ignored
+    @Override
+    public void close() {
+        if (slot.generation == generation) {
+            slot.generation++;
+            pool.release(slot);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package by.morka.effective.java.objectscreationdestruction.finalizatorsandcleaners;
+
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Room's Cleaner pattern as a shared service: registrations are spread over several
+ * Cleaner threads, and an action run by a Cleaner instead of an explicit clean()
+ * is reported as a leak - someone forgot close().
+ * A sample of registrations remembers its allocation site for the leak report.
+ * Still only a safety net: try-with-resources stays the way to release resources.
+ */
+public final class Reclaimer {
+    private final Cleaner[] cleaners;
+    private final AtomicInteger next = new AtomicInteger();
+    private final double sampleRate;
+    private final Consumer<? super Throwable> onLeak;
+
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder reclaimed = new LongAdder();
+    private final LongAdder reclaimNanos = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    /**
+     * @param threads    number of Cleaner threads
+     * @param sampleRate fraction of registrations, 0 to 1, that capture their allocation site
+     * @param onLeak     gets a Throwable whose stack trace is the allocation site, when sampled
+     */
+    public Reclaimer(int threads, double sampleRate, Consumer<? super Throwable> onLeak) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads < 1: " + threads);
+        if (sampleRate < 0 || sampleRate > 1)
+            throw new IllegalArgumentException("sampleRate not in [0, 1]: " + sampleRate);
+        this.cleaners = new Cleaner[threads];
+        for (int i = 0; i < threads; i++)
+            cleaners[i] = Cleaner.create();
+        this.sampleRate = sampleRate;
+        this.onLeak = Objects.requireNonNull(onLeak);
+    }
+
+    /**
+     * Registers action to run when owner becomes phantom reachable, unless clean() runs it first.
+     * As with Cleaner, action must not refer to owner.
+     */
+    public Cleaner.Cleanable register(Object owner, Runnable action) {
+        Throwable site = ThreadLocalRandom.current().nextDouble() < sampleRate
+                ? new Throwable("Leaked resource was allocated here")
+                : null;
+        Tracked tracked = new Tracked(Objects.requireNonNull(action), site);
+        Cleaner cleaner = cleaners[Math.floorMod(next.getAndIncrement(), cleaners.length)];
+        tracked.cleanable = cleaner.register(owner, tracked);
+        pending.increment();
+        return tracked::clean;
+    }
+
+    private final class Tracked implements Runnable {
+        private final Runnable action;
+        private final Throwable site;
+        Cleaner.Cleanable cleanable;
+        // Set by an explicit clean(); if still false when run, the owner leaked
+        private volatile boolean explicit;
+
+        Tracked(Runnable action, Throwable site) {
+            this.action = action;
+            this.site = site;
+        }
+
+        void clean() {
+            explicit = true;
+            cleanable.clean();
+        }
+
+        // Runs at most once: from clean() or from a Cleaner thread
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                action.run();
+            } finally {
+                reclaimNanos.add(System.nanoTime() - start);
+                reclaimed.increment();
+                pending.decrement();
+            }
+            if (!explicit) {
+                leaks.increment();
+                onLeak.accept(site != null ? site
+                        : new Throwable("Leaked resource (allocation site not sampled)", null, false, false) {
+                });
+            }
+        }
+    }
+
+    // Registered actions that have not run yet
+    public long pendingCount() {
+        return pending.sum();
+    }
+
+    public long reclaimedCount() {
+        return reclaimed.sum();
+    }
+
+    public long leakCount() {
+        return leaks.sum();
+    }
+
+    // Mean time spent running a cleanup action
+    public Duration meanReclaimTime() {
+        long count = reclaimed.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(reclaimNanos.sum() / count);
+    }
+}
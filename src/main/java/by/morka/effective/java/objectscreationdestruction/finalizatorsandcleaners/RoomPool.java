@@ -0,0 +1,56 @@
+package by.morka.effective.java.objectscreationdestruction.finalizatorsandcleaners;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of PooledRoom for tight acquire/close loops. Each thread first uses its own
+ * small cache, so the common case takes no synchronization at all; rooms beyond that
+ * go to a shared lock-free overflow queue, and rooms beyond that are cleaned for real.
+ * Rooms cached by a thread that dies are reclaimed by the Cleaner (and reported as leaks).
+ */
+public final class RoomPool {
+    private final Reclaimer reclaimer;
+    private final int perThread;
+    private final int maxOverflow;
+    private final ThreadLocal<ArrayDeque<PooledRoom.Slot>> local = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Queue<PooledRoom.Slot> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+
+    public RoomPool(Reclaimer reclaimer, int perThread, int maxOverflow) {
+        if (perThread < 0 || maxOverflow < 0)
+            throw new IllegalArgumentException(String.format(
+                    "Negative capacity: perThread=%d, maxOverflow=%d", perThread, maxOverflow));
+        this.reclaimer = Objects.requireNonNull(reclaimer);
+        this.perThread = perThread;
+        this.maxOverflow = maxOverflow;
+    }
+
+    // Each call returns a new lease; only the room behind it is recycled
+    public PooledRoom acquire(int numJunkPiles) {
+        PooledRoom.Slot slot = local.get().pollFirst();
+        if (slot == null) {
+            slot = overflow.poll();
+            if (slot != null)
+                overflowSize.decrementAndGet();
+        }
+        if (slot == null)
+            slot = new PooledRoom.Slot(reclaimer);
+        return new PooledRoom(this, slot, numJunkPiles);
+    }
+
+    void release(PooledRoom.Slot slot) {
+        ArrayDeque<PooledRoom.Slot> cache = local.get();
+        if (cache.size() < perThread) {
+            cache.addFirst(slot);
+        } else if (overflowSize.incrementAndGet() <= maxOverflow) {
+            overflow.add(slot);
+        } else {
+            overflowSize.decrementAndGet();
+            slot.discard();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package by.morka.effective.java.objectscreationdestruction.singleton;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+public class ElvisDoubleChecked {
+
+    private static final VarHandle INSTANCE;
+
+    static {
+        try {
+            INSTANCE = MethodHandles.lookup()
+                    .findStaticVarHandle(ElvisDoubleChecked.class, "instance", ElvisDoubleChecked.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static ElvisDoubleChecked instance;
+
+    private final Payload payload = new Payload();
+
+    private ElvisDoubleChecked() {
+    }
+
+    /**
+     * 1. Double-check idiom with acquire/release instead of a volatile field:
+     * the release write publishes the fully constructed instance,
+     * and the acquire read on the fast path is enough to see it.
+     */
+    public static ElvisDoubleChecked getInstance() {
+        ElvisDoubleChecked result = (ElvisDoubleChecked) INSTANCE.getAcquire();
+        if (result == null) { // First check (no locking)
+            synchronized (ElvisDoubleChecked.class) {
+                result = (ElvisDoubleChecked) INSTANCE.getAcquire();
+                if (result == null) { // Second check (with locking)
+                    result = new ElvisDoubleChecked();
+                    INSTANCE.setRelease(result);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void doSomeJob() {
+    }
+}
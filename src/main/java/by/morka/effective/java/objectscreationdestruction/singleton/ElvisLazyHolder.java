@@ -0,0 +1,24 @@
+package by.morka.effective.java.objectscreationdestruction.singleton;
+
+public class ElvisLazyHolder {
+
+    private final Payload payload = new Payload();
+
+    private ElvisLazyHolder() {
+    }
+
+    /**
+     * 1. Lazy: Holder is initialized by the JVM on the first getInstance() call, not when
+     * ElvisLazyHolder is loaded. Class initialization is thread-safe, so no locking needed.
+     */
+    private static class Holder {
+        static final ElvisLazyHolder INSTANCE = new ElvisLazyHolder();
+    }
+
+    public static ElvisLazyHolder getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public void doSomeJob() {
+    }
+}
@@ -6,6 +6,8 @@ package by.morka.effective.java.objectscreationdestruction.singleton;
 public enum ElvisThird {
     INSTANCE;
 
+    private final Payload payload = new Payload();
+
     public void doSomeJob() {
 
     }
@@ -0,0 +1,21 @@
+package by.morka.effective.java.objectscreationdestruction.singleton;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stands in for the cache or dictionary a real singleton builds when it is created.
+ * Empty unless the system property elvis.payload asks for that many entries,
+ * as StartupHarness does to make initialization cost visible.
+ */
+final class Payload {
+    static final String ENTRIES = "elvis.payload";
+
+    private final Map<Integer, String> map = new HashMap<>();
+
+    Payload() {
+        int entries = Integer.getInteger(ENTRIES, 0);
+        for (int i = 0; i < entries; i++)
+            map.put(i, Integer.toHexString(i));
+    }
+}
@@ -0,0 +1,60 @@
+package by.morka.effective.java.objectscreationdestruction.singleton;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lazily created singletons, one per class. The per-class lookup is a ClassValue,
+ * which the JVM keeps next to the Class object itself; the factory runs at most once,
+ * on the first get().
+ */
+public final class SingletonRegistry {
+    private static final Map<Class<?>, Supplier<?>> FACTORIES = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Lazy> INSTANCES = new ClassValue<>() {
+        @Override
+        protected Lazy computeValue(Class<?> type) {
+            Supplier<?> factory = FACTORIES.get(type);
+            if (factory == null)
+                throw new IllegalArgumentException("No singleton registered for " + type.getName());
+            return new Lazy(factory);
+        }
+    };
+
+    private SingletonRegistry() {
+        throw new AssertionError();
+    }
+
+    public static <T> void register(Class<T> type, Supplier<? extends T> factory) {
+        if (FACTORIES.putIfAbsent(type, Objects.requireNonNull(factory)) != null)
+            throw new IllegalStateException("Singleton already registered for " + type.getName());
+    }
+
+    public static <T> T get(Class<T> type) {
+        return type.cast(INSTANCES.get(type).get());
+    }
+
+    // computeValue may run more than once under a race, so the factory is called here, once
+    private static final class Lazy {
+        private final Supplier<?> factory;
+        private volatile Object instance;
+
+        Lazy(Supplier<?> factory) {
+            this.factory = factory;
+        }
+
+        Object get() {
+            Object result = instance;
+            if (result == null) {
+                synchronized (this) {
+                    result = instance;
+                    if (result == null)
+                        instance = result = Objects.requireNonNull(factory.get());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package by.morka.effective.java.objectscreationdestruction.singleton;
+
+import by.morka.effective.java.harness.ChildJvm;
+
+import java.util.List;
+
+/**
+ * Startup and first-access cost of the eager and lazy singleton samples, each carrying
+ * a heavyweight Payload whose size is passed to the child as -Delvis.payload=N.
+ * Each run is a fresh JVM that first loads the singleton's class, as application wiring would,
+ * and then gets the instance once. An eager singleton pays for its payload while loading;
+ * the lazy ones defer it to the first access.
+ * <p>
+ * Usage: StartupHarness [--runs N] [--entries N]
+ */
+public class StartupHarness {
+
+    enum Variant {EAGER, LAZY_HOLDER, DOUBLE_CHECKED, REGISTRY}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(Variant.valueOf(args[1]));
+            return;
+        }
+        int runs = 5;
+        int entries = 500_000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--entries" -> entries = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        System.out.printf("Payload of %d entries, %d fresh JVMs per variant (medians)%n", entries, runs);
+        for (Variant v : Variant.values())
+            report(v, runs, entries);
+    }
+
+    // Runs in the child JVM: "startup" loads the class, "first" is the first access
+    private static void child(Variant variant) throws ClassNotFoundException {
+        long start = System.nanoTime();
+        switch (variant) {
+            case EAGER -> load(ElvisThird.class);
+            case LAZY_HOLDER -> load(ElvisLazyHolder.class);
+            case DOUBLE_CHECKED -> load(ElvisDoubleChecked.class);
+            case REGISTRY -> SingletonRegistry.register(Payload.class, Payload::new);
+        }
+        long loaded = System.nanoTime();
+        Object instance = switch (variant) {
+            case EAGER -> ElvisThird.INSTANCE;
+            case LAZY_HOLDER -> ElvisLazyHolder.getInstance();
+            case DOUBLE_CHECKED -> ElvisDoubleChecked.getInstance();
+            case REGISTRY -> SingletonRegistry.get(Payload.class);
+        };
+        long accessed = System.nanoTime();
+        System.out.println((loaded - start) + " " + (accessed - loaded) + " "
+                + System.identityHashCode(instance));
+    }
+
+    // Loads and initializes the class without calling into it
+    private static void load(Class<?> type) throws ClassNotFoundException {
+        Class.forName(type.getName(), true, type.getClassLoader());
+    }
+
+    private static void report(Variant variant, int runs, int entries) throws Exception {
+        long[] wall = new long[runs];
+        long[] startup = new long[runs];
+        long[] first = new long[runs];
+        for (int r = 0; r < runs; r++) {
+            long start = System.nanoTime();
+            String[] line = ChildJvm.run(StartupHarness.class,
+                    List.of("-D" + Payload.ENTRIES + "=" + entries),
+                    "--child", variant.name()).split(" ");
+            wall[r] = System.nanoTime() - start;
+            startup[r] = Long.parseLong(line[0]);
+            first[r] = Long.parseLong(line[1]);
+        }
+        System.out.printf("%-15s JVM wall %6.1f ms, class load %6.1f ms, first access %6.1f ms%n",
+                variant, ChildJvm.median(wall) / 1e6, ChildJvm.median(startup) / 1e6,
+                ChildJvm.median(first) / 1e6);
+    }
+}
@@ -0,0 +1,16 @@
+package by.morka.effective.java.objectscreationdestruction.staticfactory;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * URL scheme (the part before the first ':') handled by a MyDriver listed in META-INF/services.
+ * Read from the provider's class, so the driver isn't instantiated until a URL needs it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DriverScheme {
+    String value();
+}
@@ -0,0 +1,80 @@
+package by.morka.effective.java.objectscreationdestruction.staticfactory;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in driver for "mem:" URLs, so the provider framework can be used without any backend.
+ */
+@DriverScheme("mem")
+public class InMemoryDriver implements MyDriver {
+    public static final String PREFIX = "mem:";
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url.startsWith(PREFIX);
+    }
+
+    // Simulated round-trip latency per call, in milliseconds
+    public static final String LATENCY_MILLIS = "latencyMillis";
+
+    @Override
+    public InMemoryConnection connect(String url, Properties properties) {
+        long latency = properties == null ? 0
+                : Long.parseLong(properties.getProperty(LATENCY_MILLIS, "0"));
+        return new InMemoryConnection(url, latency);
+    }
+
+    public static class InMemoryConnection implements MyConnection {
+        private final String url;
+        private final long latencyMillis;
+        private final AtomicInteger jobs = new AtomicInteger();
+        private final AtomicInteger roundTrips = new AtomicInteger();
+        private volatile boolean closed;
+
+        InMemoryConnection(String url, long latencyMillis) {
+            this.url = url;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public void doSomeJob() {
+            doSomeJobs(1);
+        }
+
+        // One simulated round trip, whatever the number of jobs
+        @Override
+        public void doSomeJobs(int count) {
+            if (closed)
+                throw new IllegalStateException("Connection closed: " + url);
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted: " + url, e);
+                }
+            }
+            roundTrips.incrementAndGet();
+            jobs.addAndGet(count);
+        }
+
+        public int roundTrips() {
+            return roundTrips.get();
+        }
+
+        public int jobs() {
+            return jobs.get();
+        }
+
+        @Override
+        public boolean isValid() {
+            return !closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
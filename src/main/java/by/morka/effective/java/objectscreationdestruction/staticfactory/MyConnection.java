@@ -3,6 +3,21 @@ package by.morka.effective.java.objectscreationdestruction.staticfactory;
 /**
  * SERVICE
  */
-public interface MyConnection {
+public interface MyConnection extends AutoCloseable {
     void doSomeJob();
+
+    // Runs count jobs in one round trip; drivers able to batch should override it
+    default void doSomeJobs(int count) {
+        for (int i = 0; i < count; i++)
+            doSomeJob();
+    }
+
+    // Lets a pool detect broken connections before handing them out
+    default boolean isValid() {
+        return true;
+    }
+
+    @Override
+    default void close() {
+    }
 }
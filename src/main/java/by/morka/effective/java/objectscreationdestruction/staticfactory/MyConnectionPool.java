@@ -0,0 +1,236 @@
+package by.morka.effective.java.objectscreationdestruction.staticfactory;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of connections. Leases are connections too: closing one returns the
+ * underlying connection to the pool, so try-with-resources works.
+ * 1. Idle connections sit in a lock-free deque, most recently used first.
+ * 2. A CAS on an atomic counter bounds how many exist at once. Only a caller that
+ * finds the pool exhausted parks, until a release wakes it or its timeout ends.
+ * 3. Every acquire and release evicts connections idle for longer than maxIdle
+ * from the cold end of the deque.
+ */
+public class MyConnectionPool implements AutoCloseable {
+    private final Supplier<? extends MyConnection> factory;
+    private final int maxSize;
+    // Connections leased out or being created
+    private final AtomicInteger leased = new AtomicInteger();
+    // Callers parked in acquire, oldest first
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    private final long maxIdleNanos;
+    private final Deque<Idle> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    public MyConnectionPool(Supplier<? extends MyConnection> factory, int maxSize, Duration maxIdle) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize < 1: " + maxSize);
+        this.factory = Objects.requireNonNull(factory);
+        this.maxSize = maxSize;
+        this.maxIdleNanos = maxIdle.toNanos();
+    }
+
+    // Pools connections from MyDriverManager for one URL
+    public static MyConnectionPool forUrl(MyDriverManager manager, String url,
+                                          Properties properties,
+                                          int maxSize, Duration maxIdle) {
+        return new MyConnectionPool(() -> manager.getConnection(url, properties), maxSize, maxIdle);
+    }
+
+    private static final class Idle {
+        final MyConnection connection;
+        final long since;
+
+        Idle(MyConnection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+
+    /**
+     * Lends a connection, waiting up to timeout for one to become available.
+     *
+     * @throws TimeoutException if the pool stayed exhausted for the whole timeout
+     */
+    public MyConnection acquire(Duration timeout) throws InterruptedException, TimeoutException {
+        if (closed)
+            throw new IllegalStateException("Pool closed");
+        long start = System.nanoTime();
+        if (!reserve(start, timeout.toNanos()))
+            throw new TimeoutException("No connection available within " + timeout);
+        long now = System.nanoTime();
+        waitNanos.add(now - start);
+        acquisitions.increment();
+        try {
+            evictExpired(now);
+            for (Idle i; (i = idle.pollFirst()) != null; ) {
+                if (now - i.since <= maxIdleNanos && i.connection.isValid())
+                    return new Lease(i.connection);
+                discard(i.connection);
+            }
+            MyConnection connection = factory.get();
+            created.increment();
+            return new Lease(connection);
+        } catch (RuntimeException e) {
+            unreserve();
+            throw e;
+        }
+    }
+
+    // Takes a slot with one CAS when the pool isn't full; otherwise parks until a release or the deadline
+    private boolean reserve(long start, long timeoutNanos) throws InterruptedException {
+        if (tryReserve())
+            return true;
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            while (true) {
+                if (tryReserve())
+                    return true;
+                long remaining = start + timeoutNanos - System.nanoTime();
+                if (remaining <= 0)
+                    return false;
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+            }
+        } finally {
+            waiters.remove(current);
+            // This thread may have taken a wakeup it did not use: pass it on
+            if (leased.get() < maxSize)
+                wakeWaiter();
+        }
+    }
+
+    private boolean tryReserve() {
+        for (int n; (n = leased.get()) < maxSize; ) {
+            if (leased.compareAndSet(n, n + 1))
+                return true;
+        }
+        return false;
+    }
+
+    private void unreserve() {
+        leased.decrementAndGet();
+        wakeWaiter();
+    }
+
+    private void wakeWaiter() {
+        Thread waiter = waiters.peek();
+        if (waiter != null)
+            LockSupport.unpark(waiter);
+    }
+
+    private void release(MyConnection connection) {
+        long now = System.nanoTime();
+        if (!closed && connection.isValid())
+            idle.offerFirst(new Idle(connection, now));
+        else
+            discard(connection);
+        unreserve();
+        evictExpired(now);
+    }
+
+    // The least recently used connections are at the end: stop at the first one still fresh
+    private void evictExpired(long now) {
+        for (Idle i; (i = idle.peekLast()) != null && now - i.since > maxIdleNanos; ) {
+            if (idle.removeLastOccurrence(i))
+                discard(i.connection);
+        }
+    }
+
+    // Closes every connection idle for longer than maxIdle, wherever it is in the deque
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Idle i : idle) {
+            if (now - i.since > maxIdleNanos && idle.removeFirstOccurrence(i))
+                discard(i.connection);
+        }
+    }
+
+    private void discard(MyConnection connection) {
+        discarded.increment();
+        connection.close();
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    public long createdCount() {
+        return created.sum();
+    }
+
+    public long discardedCount() {
+        return discarded.sum();
+    }
+
+    public long acquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    // Total time callers spent waiting in acquire
+    public Duration totalWaitTime() {
+        return Duration.ofNanos(waitNanos.sum());
+    }
+
+    // Closes the idle connections; leased ones are closed when they come back
+    @Override
+    public void close() {
+        closed = true;
+        for (Idle i; (i = idle.pollFirst()) != null; )
+            discard(i.connection);
+    }
+
+    private final class Lease implements MyConnection {
+        private final MyConnection connection;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        Lease(MyConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void doSomeJob() {
+            if (returned.get())
+                throw new IllegalStateException("Connection already returned to the pool");
+            connection.doSomeJob();
+        }
+
+        // Forwarded, so a driver's batched doSomeJobs is not replaced by the one-by-one default
+        @Override
+        public void doSomeJobs(int count) {
+            if (returned.get())
+                throw new IllegalStateException("Connection already returned to the pool");
+            connection.doSomeJobs(count);
+        }
+
+        @Override
+        public boolean isValid() {
+            return !returned.get() && connection.isValid();
+        }
+
+        @Override
+        public void close() {
+            if (returned.compareAndSet(false, true))
+                release(connection);
+        }
+    }
+}
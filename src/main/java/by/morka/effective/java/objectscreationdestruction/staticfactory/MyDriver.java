@@ -7,4 +7,9 @@ import java.util.Properties;
  */
 public interface MyDriver {
     MyConnection connect(String url, Properties properties);
+
+    // Drivers that predate URL matching accept everything
+    default boolean acceptsURL(String url) {
+        return true;
+    }
 }
@@ -1,18 +1,50 @@
 package by.morka.effective.java.objectscreationdestruction.staticfactory;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.toMap;
 
 /**
  * API FOR PROVIDER REGISTRATIONS
  */
 public class MyDriverManager {
 
-    private static final List<MyDriver> REGISTERED_DRIVERS = new ArrayList<>();
+    // Copy-on-write: registration is rare, lookups are frequent and need no locking
+    private static final List<MyDriver> REGISTERED_DRIVERS = new CopyOnWriteArrayList<>();
+    // Keyed by URL scheme, not full URL, so the cache stays as small as the set of schemes in use
+    private static final Map<String, CachedDriver> DRIVER_BY_SCHEME = new ConcurrentHashMap<>();
+    // Bumped on every (de)registration; cache entries from older generations are ignored
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private static final class CachedDriver {
+        final MyDriver driver;
+        final long generation;
+
+        CachedDriver(MyDriver driver, long generation) {
+            this.driver = driver;
+            this.generation = generation;
+        }
+    }
 
     public void registerDriver(MyDriver driver) {
-        REGISTERED_DRIVERS.add(driver);
+        REGISTERED_DRIVERS.add(Objects.requireNonNull(driver));
+        // A new driver may match URLs that were resolved before
+        GENERATION.incrementAndGet();
+    }
+
+    public void deregisterDriver(MyDriver driver) {
+        if (REGISTERED_DRIVERS.remove(driver))
+            GENERATION.incrementAndGet();
     }
 
     /**
@@ -21,7 +53,100 @@ public class MyDriverManager {
      * of the class containing the method
      */
     public MyConnection getConnection(String url, Properties properties) {
-        // some logic
-        return REGISTERED_DRIVERS.get(0).connect(url, properties);
+        return driverFor(url).connect(url, properties);
+    }
+
+    /**
+     * First registered driver accepting the URL, else a discovered one; cached per scheme.
+     * 1. Drivers are expected to own whole schemes. If two split one, the driver cached first
+     * for the scheme keeps serving the URLs it accepts, and other URLs are resolved uncached.
+     * 2. A lookup racing a registration may cache a stale driver, but that entry carries the old
+     * generation and is never served.
+     */
+    MyDriver driverFor(String url) {
+        String scheme = scheme(url);
+        long generation = GENERATION.get();
+        CachedDriver cached = DRIVER_BY_SCHEME.get(scheme);
+        if (cached != null && cached.generation == generation && cached.driver.acceptsURL(url))
+            return cached.driver;
+        MyDriver driver = resolve(url);
+        // Only replace entries from older generations, never a current one
+        DRIVER_BY_SCHEME.compute(scheme, (s, old) ->
+                old != null && old.generation >= generation ? old : new CachedDriver(driver, generation));
+        return driver;
+    }
+
+    private static MyDriver resolve(String url) {
+        for (MyDriver driver : REGISTERED_DRIVERS) {
+            if (driver.acceptsURL(url))
+                return driver;
+        }
+        MyDriver driver = discoveredDriver(url);
+        if (driver != null && driver.acceptsURL(url))
+            return driver;
+        throw new IllegalArgumentException("No suitable driver for " + url);
+    }
+
+    private static String scheme(String url) {
+        int colon = url.indexOf(':');
+        return colon < 0 ? "" : url.substring(0, colon);
+    }
+
+    static int cachedSchemeCount() {
+        return DRIVER_BY_SCHEME.size();
+    }
+
+    // Instantiates the discovered provider for the URL's scheme on first use, or returns null
+    static MyDriver discoveredDriver(String url) {
+        int colon = url.indexOf(':');
+        if (colon < 0)
+            return null;
+        return ServiceDrivers.driver(url.substring(0, colon));
+    }
+
+    // Time spent on each discovered provider so far: class loading, plus instantiation once used
+    public static Map<String, Duration> providerStartupTimes() {
+        return Map.copyOf(ServiceDrivers.STARTUP_NANOS.entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, e -> Duration.ofNanos(e.getValue().sum()))));
+    }
+
+    /**
+     * Lazy holder: META-INF/services is only read the first time a URL
+     * isn't handled by a registered driver.
+     */
+    private static class ServiceDrivers {
+        static final Map<String, LongAdder> STARTUP_NANOS = new ConcurrentHashMap<>();
+        static final Map<String, ServiceLoader.Provider<MyDriver>> PROVIDERS = discover();
+        static final Map<String, MyDriver> DRIVERS = new ConcurrentHashMap<>();
+
+        private static Map<String, ServiceLoader.Provider<MyDriver>> discover() {
+            Map<String, ServiceLoader.Provider<MyDriver>> providers = new HashMap<>();
+            ServiceLoader.load(MyDriver.class).stream().forEach(p -> {
+                long start = System.nanoTime();
+                // type() loads the class but doesn't instantiate the driver
+                DriverScheme scheme = p.type().getAnnotation(DriverScheme.class);
+                time(p, start);
+                if (scheme != null)
+                    providers.putIfAbsent(scheme.value(), p);
+            });
+            return providers;
+        }
+
+        static MyDriver driver(String scheme) {
+            ServiceLoader.Provider<MyDriver> provider = PROVIDERS.get(scheme);
+            if (provider == null)
+                return null;
+            return DRIVERS.computeIfAbsent(scheme, s -> {
+                long start = System.nanoTime();
+                MyDriver driver = provider.get();
+                time(provider, start);
+                return driver;
+            });
+        }
+
+        private static void time(ServiceLoader.Provider<MyDriver> provider, long start) {
+            STARTUP_NANOS.computeIfAbsent(provider.type().getName(), k -> new LongAdder())
+                    .add(System.nanoTime() - start);
+        }
     }
 }
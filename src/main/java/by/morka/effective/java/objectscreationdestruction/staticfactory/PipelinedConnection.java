@@ -0,0 +1,123 @@
+package by.morka.effective.java.objectscreationdestruction.staticfactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous front for a connection. Jobs submitted concurrently are coalesced
+ * into one doSomeJobs call: a batch is sent once it reaches maxBatchSize, or
+ * maxLinger after its first job arrived, whichever comes first.
+ * A single background thread owns the underlying connection.
+ */
+public class PipelinedConnection implements MyConnection {
+    private final MyConnection connection;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final BlockingQueue<CompletableFuture<Void>> pending = new LinkedBlockingQueue<>();
+    private final Thread sender;
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean closed;
+
+    public PipelinedConnection(MyConnection connection, int maxBatchSize, Duration maxLinger) {
+        if (maxBatchSize < 1)
+            throw new IllegalArgumentException("maxBatchSize < 1: " + maxBatchSize);
+        this.connection = Objects.requireNonNull(connection);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.sender = new Thread(this::sendBatches, "pipelined-connection");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    // Completes when the job has been run as part of a batch
+    public CompletableFuture<Void> submit() {
+        if (closed)
+            throw new IllegalStateException("Connection closed");
+        CompletableFuture<Void> job = new CompletableFuture<>();
+        pending.add(job);
+        // close() may have drained pending between the check above and the add:
+        // if the job is still queued, nobody else will complete it
+        if (closed && pending.remove(job))
+            throw new IllegalStateException("Connection closed");
+        return job;
+    }
+
+    @Override
+    public void doSomeJob() {
+        submit().join();
+    }
+
+    // Queues all count jobs before waiting once, so they share batches instead of one round trip each
+    @Override
+    public void doSomeJobs(int count) {
+        CompletableFuture<?>[] jobs = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++)
+            jobs[i] = submit();
+        CompletableFuture.allOf(jobs).join();
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    private void sendBatches() {
+        List<CompletableFuture<Void>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!closed || !pending.isEmpty()) {
+                CompletableFuture<Void> first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    CompletableFuture<Void> next =
+                            pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+                send(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(List<CompletableFuture<Void>> batch) {
+        try {
+            connection.doSomeJobs(batch.size());
+            batches.increment();
+            batch.forEach(job -> job.complete(null));
+        } catch (RuntimeException e) {
+            batch.forEach(job -> job.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public boolean isValid() {
+        return !closed && connection.isValid();
+    }
+
+    // Sends the jobs already submitted, then closes the underlying connection
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            sender.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Jobs that raced with close() never reach the connection
+        for (CompletableFuture<Void> job; (job = pending.poll()) != null; )
+            job.completeExceptionally(new IllegalStateException("Connection closed"));
+        connection.close();
+    }
+}
@@ -0,0 +1,211 @@
+package by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner;
+
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.annotationwitharrayparameter.Sample3;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.annotationwithparameter.Sample2;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.markerannotation.Sample;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.markerannotation.Test;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.repeatableannotation.Sample4;
+import by.morka.effective.java.enumsandannotations.annotationsovernamingconventions.runner.TestResult.Status;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRunnerTest {
+
+    private static Map<String, Status> run(Class<?> testClass) {
+        return run(TestRunner.discover(testClass));
+    }
+
+    private static Map<String, Status> run(List<TestMethod> tests) {
+        try (TestRunner runner = new TestRunner(4, Duration.ofSeconds(5))) {
+            Map<String, Status> statuses = new LinkedHashMap<>();
+            for (TestResult r : runner.run(tests))
+                statuses.put(r.test().substring(r.test().indexOf('#') + 1), r.status());
+            return statuses;
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testAllAnnotationFlavours() {
+        assertEquals(Map.of("m1", Status.PASSED, "m3", Status.FAILED,
+                "m5", Status.INVALID, "m7", Status.FAILED), run(Sample.class));
+        assertEquals(Map.of("m1", Status.PASSED, "m2", Status.FAILED,
+                "m3", Status.FAILED), run(Sample2.class));
+        Map<String, Status> arrayOrRepeated = Map.of("m1", Status.PASSED, "m2", Status.FAILED,
+                "m3", Status.FAILED, "doublyBad", Status.PASSED);
+        assertEquals(arrayOrRepeated, run(Sample3.class));
+        assertEquals(arrayOrRepeated, run(Sample4.class));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testDiscoveryIsCached() {
+        assertSame(TestRunner.discover(Sample.class), TestRunner.discover(Sample.class));
+    }
+
+    // Annotations in the reverse of the order TestRunner.scan checks them
+    public static class Mixed {
+        @by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                .annotationwithparameter.ExceptionTest(ArithmeticException.class)
+        @Test
+        public static void both() {
+        }
+
+        @by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                .repeatableannotation.ExceptionTest(IllegalStateException.class)
+        @by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                .annotationwitharrayparameter.ExceptionTest({ArithmeticException.class, NullPointerException.class})
+        @by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                .annotationwithparameter.ExceptionTest(IndexOutOfBoundsException.class)
+        @Test
+        public static void everyFlavour() {
+        }
+    }
+
+    private static List<String> describe(List<TestMethod> tests) {
+        List<String> described = new ArrayList<>();
+        for (TestMethod test : tests)
+            described.add(test.signature() + " " + Arrays.toString(test.expected()));
+        return described;
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testGeneratedIndexMatchesScan() {
+        for (Class<?> c : List.of(Sample.class, Sample2.class, Sample3.class, Sample4.class,
+                Slow.class, Stuck.class, NonVoid.class, Mixed.class)) {
+            List<TestMethod> indexed = TestRunner.loadIndex(c);
+            assertNotNull(indexed, c.getName());
+            assertEquals(describe(TestRunner.scan(c)), describe(indexed), c.getName());
+        }
+        assertEquals(List.of(
+                Mixed.class.getName() + "#both @Test []",
+                Mixed.class.getName() + "#both @ExceptionTest [class java.lang.ArithmeticException]",
+                Mixed.class.getName() + "#everyFlavour @Test []",
+                Mixed.class.getName() + "#everyFlavour @ExceptionTest [class java.lang.IndexOutOfBoundsException]",
+                Mixed.class.getName() + "#everyFlavour @ExceptionTest "
+                        + "[class java.lang.ArithmeticException, class java.lang.NullPointerException]",
+                Mixed.class.getName() + "#everyFlavour @ExceptionTest [class java.lang.IllegalStateException]"),
+                describe(TestRunner.loadIndex(Mixed.class)));
+    }
+
+    public static class NonVoid {
+        static int zero;
+
+        @Test
+        public static int answer() {
+            return 42;
+        }
+
+        @by.morka.effective.java.enumsandannotations.annotationsovernamingconventions
+                .annotationwithparameter.ExceptionTest(ArithmeticException.class)
+        public static int divideByZero() {
+            return 1 / zero;
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testNonVoidTestsRunTheSameIndexedAndScanned() {
+        Map<String, Status> passed = Map.of("answer", Status.PASSED, "divideByZero", Status.PASSED);
+        assertEquals(passed, run(TestRunner.loadIndex(NonVoid.class)));
+        assertEquals(passed, run(TestRunner.scan(NonVoid.class)));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testShardsPartitionTests() {
+        List<TestMethod> all = new ArrayList<>(TestRunner.discover(Sample3.class));
+        all.addAll(TestRunner.discover(Sample4.class));
+        Set<TestMethod> seen = new HashSet<>();
+        for (int i = 1; i <= 3; i++) {
+            for (TestMethod test : TestRunner.shard(all, i, 3))
+                assertTrue(seen.add(test), test.signature());
+        }
+        assertEquals(new HashSet<>(all), seen);
+        assertThrows(IllegalArgumentException.class, () -> TestRunner.shard(all, 0, 3));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testCacheKeepsOnlyPassedTests(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("results.properties");
+        ResultCache cache = ResultCache.load(file);
+        List<TestMethod> tests = TestRunner.discover(Sample2.class);
+        try (TestRunner runner = new TestRunner(2, Duration.ofSeconds(5))) {
+            List<TestResult> results = runner.run(tests);
+            for (int i = 0; i < tests.size(); i++)
+                cache.record(tests.get(i), results.get(i));
+        }
+        cache.save();
+
+        ResultCache reloaded = ResultCache.load(file);
+        for (TestMethod test : tests)
+            assertEquals(test.signature().contains("#m1 "), reloaded.isFresh(test), test.signature());
+    }
+
+    public static class Slow {
+        @Test
+        public static void hangs() throws InterruptedException {
+            Thread.sleep(60_000);
+        }
+
+        @Test
+        public static void quick() {
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testTimeout() {
+        try (TestRunner runner = new TestRunner(1, Duration.ofMillis(100))) {
+            List<TestResult> results = runner.run(TestRunner.discover(Slow.class));
+            assertEquals(Status.TIMED_OUT, results.get(0).status());
+            assertEquals(Status.PASSED, results.get(1).status());
+        }
+    }
+
+    public static class Stuck {
+        static volatile boolean released;
+
+        // Spins without checking for interrupts, like a busy loop or blocking I/O
+        @Test
+        public static void spins1() {
+            while (!released)
+                Thread.onSpinWait();
+        }
+
+        @Test
+        public static void spins2() {
+            spins1();
+        }
+
+        @Test
+        public static void x_quick() {
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testNonInterruptibleTestsDoNotStarveThePool() {
+        try (TestRunner runner = new TestRunner(1, Duration.ofMillis(100))) {
+            List<TestResult> results = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> runner.run(TestRunner.discover(Stuck.class)));
+            assertEquals(Status.TIMED_OUT, results.get(0).status());
+            assertEquals(Status.TIMED_OUT, results.get(1).status());
+            assertEquals(Status.PASSED, results.get(2).status());
+        } finally {
+            Stuck.released = true;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package by.morka.effective.java.enumsandannotations.donnotuseordinal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static by.morka.effective.java.enumsandannotations.donnotuseordinal.Ensemble.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EnsembleTest {
+
+    @Test
+    public void testOfSize() {
+        assertEquals(List.of(OCTET, DOUBLE_QUARTET), Ensemble.ofSize(8));
+        assertEquals(List.of(SOLO), Ensemble.ofSize(1));
+        assertEquals(List.of(), Ensemble.ofSize(11));
+        assertEquals(List.of(), Ensemble.ofSize(-1));
+        assertEquals(List.of(), Ensemble.ofSize(100));
+    }
+
+    @Test
+    public void testSmallestOfAtLeast() {
+        assertEquals(Optional.of(SOLO), Ensemble.smallestOfAtLeast(0));
+        assertEquals(Optional.of(OCTET), Ensemble.smallestOfAtLeast(8));
+        assertEquals(Optional.of(TRIPLE_QUARTET), Ensemble.smallestOfAtLeast(11));
+        assertEquals(Optional.empty(), Ensemble.smallestOfAtLeast(13));
+    }
+}
@@ -0,0 +1,98 @@
+package by.morka.effective.java.enumsandannotations.enummapasindexing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EnumGroupingCollectorTest {
+    private enum Color {RED, GREEN, BLUE, UNUSED}
+
+    private static Color color(int i) {
+        return Color.values()[i % 3];
+    }
+
+    @Test
+    public void testParallelMatchesGroupingBy() {
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+        Map<Color, List<Integer>> expected = numbers.stream()
+                .collect(Collectors.groupingBy(EnumGroupingCollectorTest::color, Collectors.toList()));
+        EnumMap<Color, List<Integer>> actual = numbers.parallelStream()
+                .collect(EnumGroupingCollector.groupingBy(Color.class, EnumGroupingCollectorTest::color, Collectors.toList()));
+        assertEquals(expected, actual);
+
+        Map<Color, Long> counts = numbers.stream()
+                .collect(Collectors.groupingBy(EnumGroupingCollectorTest::color, Collectors.counting()));
+        Map<Color, Long> sums = numbers.stream()
+                .collect(Collectors.groupingBy(EnumGroupingCollectorTest::color, Collectors.summingLong(i -> i)));
+        long[] expectedCounts = new long[Color.values().length];
+        long[] expectedSums = new long[Color.values().length];
+        for (Color c : Color.values()) {
+            expectedCounts[c.ordinal()] = counts.getOrDefault(c, 0L);
+            expectedSums[c.ordinal()] = sums.getOrDefault(c, 0L);
+        }
+        assertArrayEquals(expectedCounts, numbers.parallelStream()
+                .collect(EnumGroupingCollector.counting(Color.class, EnumGroupingCollectorTest::color)));
+        assertArrayEquals(expectedSums, numbers.parallelStream()
+                .collect(EnumGroupingCollector.summingLong(Color.class, EnumGroupingCollectorTest::color, i -> i)));
+    }
+
+    @Test
+    public void testParallelMatchesGroupingByConcurrent() {
+        // The concurrent variant it replaces; element order is not defined there, so compare sets
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+        Map<Color, Set<Integer>> expected = numbers.parallelStream()
+                .collect(Collectors.groupingByConcurrent(EnumGroupingCollectorTest::color, Collectors.toSet()));
+        EnumMap<Color, Set<Integer>> actual = numbers.parallelStream()
+                .collect(EnumGroupingCollector.groupingBy(Color.class, EnumGroupingCollectorTest::color, Collectors.toSet()));
+        assertEquals(expected, actual);
+
+        Map<Color, Long> counts = numbers.parallelStream()
+                .collect(Collectors.groupingByConcurrent(EnumGroupingCollectorTest::color, Collectors.counting()));
+        long[] actualCounts = numbers.parallelStream()
+                .collect(EnumGroupingCollector.counting(Color.class, EnumGroupingCollectorTest::color));
+        for (Color c : Color.values())
+            assertEquals(counts.getOrDefault(c, 0L), actualCounts[c.ordinal()], c.name());
+    }
+
+    @Test
+    public void testCombinerAndDownstreamFinisher() {
+        Collector<String, Object, EnumMap<Color, String>> collector = cast(EnumGroupingCollector.groupingBy(
+                Color.class, s -> Color.valueOf(s.split(":")[0]),
+                Collectors.mapping(s -> s.split(":")[1], Collectors.joining(","))));
+        Supplier<Object> supplier = collector.supplier();
+        BiConsumer<Object, String> accumulator = collector.accumulator();
+        BinaryOperator<Object> combiner = collector.combiner();
+        Function<Object, EnumMap<Color, String>> finisher = collector.finisher();
+
+        // RED in both halves, GREEN only left, BLUE only right, UNUSED in neither
+        Object left = supplier.get();
+        accumulator.accept(left, "RED:a");
+        accumulator.accept(left, "GREEN:b");
+        Object right = supplier.get();
+        accumulator.accept(right, "RED:c");
+        accumulator.accept(right, "BLUE:d");
+
+        EnumMap<Color, String> result = finisher.apply(combiner.apply(left, right));
+        assertEquals(Map.of(Color.RED, "a,c", Color.GREEN, "b", Color.BLUE, "d"), result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, R> Collector<T, Object, R> cast(Collector<T, ?, R> collector) {
+        return (Collector<T, Object, R>) collector;
+    }
+}
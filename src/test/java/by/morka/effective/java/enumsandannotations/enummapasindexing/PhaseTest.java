@@ -0,0 +1,63 @@
+package by.morka.effective.java.enumsandannotations.enummapasindexing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static by.morka.effective.java.enumsandannotations.enummapasindexing.Phase.*;
+import static by.morka.effective.java.enumsandannotations.enummapasindexing.Phase.Transition.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PhaseTest {
+
+    @Test
+    public void testEveryTransitionIsFound() {
+        for (Transition t : Transition.values()) {
+            int found = 0;
+            for (Phase src : Phase.values())
+                for (Phase dst : Phase.values())
+                    if (Transition.from(src, dst) == t)
+                        found++;
+            assertEquals(1, found, t.name());
+        }
+        assertNull(Transition.from(GAS, GAS));
+    }
+
+    @Test
+    public void testFlatTableMatchesNestedEnumMap() {
+        for (Phase src : Phase.values())
+            for (Phase dst : Phase.values())
+                assertEquals(Transition.fromNested(src, dst), Transition.from(src, dst), src + "->" + dst);
+    }
+
+    @Test
+    public void testShortestPaths() {
+        assertEquals(Optional.of(List.of()), Transition.path(LIQUID, LIQUID));
+        assertEquals(Optional.of(List.of(SUBLIME)), Transition.path(SOLID, GAS));
+        assertEquals(Optional.of(List.of(DEPOSIT)), Transition.path(GAS, SOLID));
+    }
+
+    private enum Light {RED, GREEN, YELLOW, OFF}
+
+    private enum Switch {
+        GO(Light.RED, Light.GREEN), SLOW(Light.GREEN, Light.YELLOW), STOP(Light.YELLOW, Light.RED);
+
+        final Light from;
+        final Light to;
+
+        Switch(Light from, Light to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    @Test
+    public void testMultiStepAndUnreachablePaths() {
+        TransitionTable<Light, Switch> table =
+                TransitionTable.of(Light.class, Switch.class, s -> s.from, s -> s.to);
+        assertEquals(Optional.of(List.of(Switch.GO, Switch.SLOW)), table.path(Light.RED, Light.YELLOW));
+        assertEquals(Optional.empty(), table.path(Light.RED, Light.OFF));
+    }
+}
@@ -0,0 +1,59 @@
+package by.morka.effective.java.enumsandannotations.enummapasindexing.fsm;
+
+import by.morka.effective.java.enumsandannotations.enummapasindexing.Phase;
+import by.morka.effective.java.enumsandannotations.enummapasindexing.Phase.Transition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MachinesTest {
+    private final StateMachine<Phase, Transition> phases = StateMachine.of(
+            Phase.class, Transition.class, Transition::source, Transition::target);
+
+    @Test
+    public void testBatchOfEvents() {
+        Machines<Phase, Transition> machines = phases.newMachines(3, Phase.SOLID);
+        int[] instances = {0, 1, 2, 0, 1};
+        Transition[] events = {Transition.MELT, Transition.SUBLIME, Transition.BOIL,
+                Transition.BOIL, Transition.DEPOSIT};
+
+        assertEquals(4, machines.fireAll(instances, events, 0, events.length));
+        assertEquals(Phase.GAS, machines.state(0));
+        assertEquals(Phase.SOLID, machines.state(1));
+        assertEquals(Phase.SOLID, machines.state(2));
+        assertEquals(1, machines.firedCount(Transition.BOIL));
+        assertEquals(1, machines.rejectedCount());
+    }
+
+    @Test
+    public void testRejectedEventKeepsState() {
+        Machines<Phase, Transition> machines = phases.newMachines(1, Phase.GAS);
+        assertFalse(machines.fire(0, Transition.MELT));
+        assertEquals(Phase.GAS, machines.state(0));
+    }
+
+    @Test
+    public void testFollowsTransitionTable() {
+        for (Phase from : Phase.values()) {
+            for (Transition event : Transition.values()) {
+                Phase to = phases.next(from, event);
+                if (event.source() == from)
+                    assertEquals(event, phases.table().get(from, to));
+                else
+                    assertNull(to);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchRangeIsChecked() {
+        Machines<Phase, Transition> machines = phases.newMachines(2, Phase.SOLID);
+        int[] instances = {0, 1};
+        Transition[] events = {Transition.MELT};
+        assertThrows(IndexOutOfBoundsException.class, () -> machines.fireAll(instances, events, 0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> machines.fireAll(instances, events, -1, 1));
+    }
+}
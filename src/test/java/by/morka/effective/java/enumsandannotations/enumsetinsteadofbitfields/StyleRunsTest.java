@@ -0,0 +1,72 @@
+package by.morka.effective.java.enumsandannotations.enumsetinsteadofbitfields;
+
+import by.morka.effective.java.enumsandannotations.enumsetinsteadofbitfields.Text.Style;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static by.morka.effective.java.enumsandannotations.enumsetinsteadofbitfields.Text.Style.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StyleRunsTest {
+
+    @Test
+    public void testRangeOperations() {
+        StyleRuns runs = new StyleRuns(10);
+        runs.addStyles(0, 6, EnumSet.of(BOLD, ITALIC));
+        runs.addStyles(4, 10, EnumSet.of(UNDERLINE));
+        runs.retainStyles(2, 8, EnumSet.of(ITALIC, UNDERLINE));
+        runs.removeStyles(5, 10, EnumSet.of(UNDERLINE, STRIKETHROUGH));
+
+        Set<Style> none = EnumSet.noneOf(Style.class);
+        Object[] expected = {
+                EnumSet.of(BOLD, ITALIC), EnumSet.of(BOLD, ITALIC),   // add only
+                EnumSet.of(ITALIC), EnumSet.of(ITALIC),               // retain dropped BOLD
+                EnumSet.of(ITALIC, UNDERLINE),                        // union, then retain
+                EnumSet.of(ITALIC),                                   // remove dropped UNDERLINE
+                none, none,                                           // retain, then remove
+                none, none};                                          // add, then remove
+        for (int run = 0; run < runs.size(); run++)
+            assertEquals(expected[run], runs.styles(run), "run " + run);
+        assertTrue(runs.hasStyle(4, UNDERLINE));
+        assertFalse(runs.hasStyle(5, UNDERLINE));
+    }
+
+    @Test
+    public void testEveryCombinationRoundTrips() {
+        // All 16 combinations, including every style at once, through setStyles and styles()
+        StyleRuns runs = new StyleRuns(16);
+        for (int run = 0; run < runs.size(); run++) {
+            Set<Style> styles = EnumSet.noneOf(Style.class);
+            for (Style s : Style.values()) {
+                if ((run >> s.ordinal() & 1) != 0)
+                    styles.add(s);
+            }
+            runs.setStyles(run, styles);
+            assertEquals(styles, runs.styles(run), "run " + run);
+        }
+        runs.removeStyles(0, 16, EnumSet.of(BOLD, STRIKETHROUGH));
+        runs.retainStyles(0, 16, EnumSet.of(ITALIC, STRIKETHROUGH));
+        runs.addStyles(0, 16, EnumSet.of(UNDERLINE));
+        for (int run = 0; run < runs.size(); run++) {
+            Set<Style> expected = EnumSet.of(UNDERLINE);
+            if ((run >> ITALIC.ordinal() & 1) != 0)
+                expected.add(ITALIC);
+            assertEquals(expected, runs.styles(run), "run " + run);
+        }
+        assertEquals(EnumSet.of(UNDERLINE), runs.styles(0));
+        assertEquals(EnumSet.of(ITALIC, UNDERLINE), runs.styles(15));
+    }
+
+    @Test
+    public void testRangesAreChecked() {
+        StyleRuns runs = new StyleRuns(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> runs.addStyles(2, 4, EnumSet.of(BOLD)));
+        assertThrows(IndexOutOfBoundsException.class, () -> runs.retainStyles(2, 1, EnumSet.of(BOLD)));
+        assertThrows(IndexOutOfBoundsException.class, () -> runs.removeStyles(-1, 1, EnumSet.of(BOLD)));
+    }
+}
@@ -0,0 +1,72 @@
+package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OperationBatchTest {
+
+    @Test
+    public void testConstantLoopsMatchPerElementApply() throws NoSuchMethodException {
+        int n = 1_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i * 0.5;
+            y[i] = i % 7 + 1;
+        }
+        List<Operation> ops = new ArrayList<>(Arrays.asList(BasicOperation.values()));
+        ops.addAll(Arrays.asList(ExtendedOperation.values()));
+        for (Operation op : ops) {
+            // The batch comes from the enum, not the interface's per-element default
+            assertEquals(op.getClass().getSuperclass(),
+                    op.getClass().getMethod("applyBatch", double[].class, double[].class,
+                            double[].class, int.class, int.class).getDeclaringClass());
+
+            double[] expected = new double[n];
+            for (int i = 10; i < n - 10; i++)
+                expected[i] = op.apply(x[i], y[i]);
+            double[] batch = new double[n];
+            op.applyBatch(x, y, batch, 10, n - 20);
+            assertArrayEquals(expected, batch, op.toString());
+        }
+    }
+
+    @Test
+    public void testParallelBatchMatchesPerElementApply() {
+        int n = 200_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i * 0.5;
+            y[i] = i % 7 + 1;
+        }
+        List<Operation> ops = new ArrayList<>(Arrays.asList(BasicOperation.values()));
+        ops.addAll(Arrays.asList(ExtendedOperation.values()));
+        for (Operation op : ops) {
+            double[] expected = new double[n];
+            for (int i = 3; i < n; i++)
+                expected[i] = op.apply(x[i], y[i]);
+            double[] parallel = new double[n];
+            op.applyBatchParallel(x, y, parallel, 3, n - 3);
+            assertArrayEquals(expected, parallel, op.toString());
+        }
+    }
+
+    @Test
+    public void testBatchRangeIsChecked() {
+        double[] a = new double[4];
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> BasicOperation.PLUS.applyBatch(a, a, new double[2], 0, 4));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ExtendedOperation.EXP.applyBatch(a, a, a, 2, 3));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> BasicOperation.MINUS.applyBatchParallel(a, a, a, 1, 4));
+    }
+}
@@ -0,0 +1,42 @@
+package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OperationRegistryTest {
+
+    @Test
+    public void testDiscoveredOperationsGetDenseIds() {
+        OperationRegistry registry = OperationRegistry.load();
+        int expected = BasicOperation.values().length + ExtendedOperation.values().length;
+        assertEquals(expected, registry.size());
+        for (int id = 0; id < registry.size(); id++)
+            assertEquals(id, registry.id(registry.byId(id)));
+        assertEquals(8.0, registry.apply(registry.id(ExtendedOperation.EXP), 2, 3));
+    }
+
+    @Test
+    public void testDispatchTreeReachesEveryOperation() throws Throwable {
+        // Sizes 1..6 cover single leaves and unbalanced trees
+        List<Operation> all = new ArrayList<>(Arrays.asList(BasicOperation.values()));
+        all.addAll(Arrays.asList(ExtendedOperation.values()));
+        for (int n = 1; n <= all.size(); n++) {
+            OperationRegistry registry = OperationRegistry.of(all.subList(0, n));
+            for (int id = 0; id < n; id++) {
+                Operation op = all.get(id);
+                assertEquals(op.apply(7, 3), registry.apply(id, 7, 3), op.toString());
+                assertEquals(op.apply(7, 3), (double) registry.handle(id).invokeExact(7.0, 3.0));
+            }
+            OperationRegistry r = registry;
+            assertThrows(IndexOutOfBoundsException.class, () -> r.apply(-1, 1, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> r.apply(r.size(), 1, 1));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> OperationRegistry.of(List.of()).apply(0, 1, 1));
+    }
+}
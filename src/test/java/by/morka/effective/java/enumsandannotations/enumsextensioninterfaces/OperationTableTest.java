@@ -0,0 +1,61 @@
+package by.morka.effective.java.enumsandannotations.enumsextensioninterfaces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OperationTableTest {
+    private final OperationTable table =
+            OperationTable.ofEnums(BasicOperation.class, ExtendedOperation.class);
+
+    @Test
+    public void testLookupAcrossEnums() {
+        assertEquals(Optional.of(BasicOperation.TIMES), table.fromChar('*'));
+        assertEquals(Optional.of(ExtendedOperation.EXP), table.fromString("^"));
+        assertEquals(Optional.empty(), table.fromChar('?'));
+        assertEquals(Optional.empty(), table.fromString("**"));
+    }
+
+    @Test
+    public void testTokenize() {
+        List<String> tokens = new ArrayList<>();
+        table.tokenize("12.5+x ^ 2%7", new OperationTable.TokenHandler() {
+            @Override
+            public void operand(CharSequence input, int start, int end) {
+                tokens.add(input.subSequence(start, end).toString());
+            }
+
+            @Override
+            public void operation(Operation op, int index) {
+                tokens.add(op.toString());
+            }
+        });
+        assertEquals(List.of("12.5", "+", "x", "^", "2", "%", "7"), tokens);
+    }
+
+    @Test
+    public void testDuplicateSymbolsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> OperationTable.ofEnums(BasicOperation.class, BasicOperation.class,
+                        DuplicateOperation.class));
+    }
+
+    private enum DuplicateOperation implements Operation {
+        PLUS_AGAIN;
+
+        @Override
+        public double apply(double x, double y) {
+            return x + y;
+        }
+
+        @Override
+        public String toString() {
+            return "+";
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package by.morka.effective.java.enumsandannotations.useenumsinsteadofints;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OperationBatchTest {
+
+    @Test
+    public void testBatchMatchesPerElementApply() {
+        int n = 200_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i * 0.5;
+            y[i] = i + 1;
+        }
+        for (Operation op : Operation.values()) {
+            double[] expected = new double[n];
+            for (int i = 0; i < n; i++)
+                expected[i] = op.apply(x[i], y[i]);
+
+            double[] batch = new double[n];
+            op.applyBatch(x, y, batch, 0, n);
+            assertArrayEquals(expected, batch);
+
+            double[] parallel = new double[n];
+            op.applyBatchParallel(x, y, parallel, 0, n);
+            assertArrayEquals(expected, parallel);
+        }
+    }
+
+    @Test
+    public void testBatchRangeIsChecked() {
+        double[] a = new double[4];
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> Operation.PLUS.applyBatch(a, a, new double[2], 0, 4));
+    }
+}
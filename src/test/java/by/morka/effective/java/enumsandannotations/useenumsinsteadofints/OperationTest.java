@@ -0,0 +1,23 @@
+package by.morka.effective.java.enumsandannotations.useenumsinsteadofints;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OperationTest {
+
+    @Test
+    public void testSymbolLookup() {
+        for (Operation op : Operation.values()) {
+            assertEquals(Optional.of(op), Operation.fromChar(op.toString().charAt(0)));
+            assertEquals(Optional.of(op), Operation.fromString(op.toString()));
+        }
+        assertEquals(Optional.empty(), Operation.fromChar('%'));
+        assertEquals(Optional.empty(), Operation.fromChar('€'));
+        assertEquals(Optional.empty(), Operation.fromString("%"));
+        assertEquals(Optional.empty(), Operation.fromString("++"));
+        assertEquals(Optional.empty(), Operation.fromString(""));
+    }
+}
@@ -0,0 +1,60 @@
+package by.morka.effective.java.enumsandannotations.useenumsinsteadofints;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PayrollDayTest {
+
+    @Test
+    public void testBatchMatchesSingleShift() {
+        PayrollDay[] days = PayrollDay.values();
+        int[] minutes = new int[days.length];
+        int[] rates = new int[days.length];
+        long[] expected = new long[days.length];
+        for (int i = 0; i < days.length; i++) {
+            minutes[i] = 400 + 30 * i;
+            rates[i] = i + 1;
+            expected[i] = days[i].pay(minutes[i], rates[i]);
+        }
+        assertArrayEquals(expected, PayrollDay.pay(days, minutes, rates));
+    }
+
+    @Test
+    public void testLargeMixedBatchMatchesSingleShift() {
+        // Enough weekday rows to take the parallel path, interleaved with weekend rows
+        int n = 300_000;
+        PayrollDay[] all = PayrollDay.values();
+        PayrollDay[] days = new PayrollDay[n];
+        int[] minutes = new int[n];
+        int[] rates = new int[n];
+        long[] expected = new long[n];
+        for (int i = 0; i < n; i++) {
+            days[i] = all[i % all.length];
+            minutes[i] = i % 900;
+            rates[i] = i % 50 + 1;
+            expected[i] = days[i].pay(minutes[i], rates[i]);
+        }
+        assertArrayEquals(expected, PayrollDay.pay(days, minutes, rates));
+    }
+
+    @Test
+    public void testLongShiftAtHighRateDoesNotOverflow() {
+        int minutes = 24 * 60;
+        int rate = 2_000_000;
+        long expected = (long) minutes * rate + (long) minutes * rate / 2;
+        assertEquals(expected, PayrollDay.pay(
+                new PayrollDay[]{PayrollDay.SUNDAY}, new int[]{minutes}, new int[]{rate})[0]);
+    }
+
+    @Test
+    public void testSingleShiftThrowsWhenPayExceedsInt() {
+        int minutes = 24 * 60;
+        int rate = 2_000_000;
+        assertThrows(ArithmeticException.class, () -> PayrollDay.SUNDAY.pay(minutes, rate));
+        assertThrows(ArithmeticException.class, () -> PayrollDay.MONDAY.pay(minutes, rate));
+        assertEquals(8 * 60, PayrollDay.MONDAY.pay(8 * 60, 1));
+    }
+}
@@ -0,0 +1,33 @@
+package by.morka.effective.java.enumsandannotations.useenumsinsteadofints;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PlanetTableTest {
+
+    @Test
+    public void testBulkMatchesSurfaceWeight() {
+        double[] masses = {10, 76 / Planet.EARTH.surfaceGravity(), 1000};
+        double[] matrix = new double[PlanetTable.planetCount() * masses.length];
+        PlanetTable.surfaceWeights(masses, matrix);
+        double[] row = new double[masses.length];
+        for (Planet p : Planet.values()) {
+            PlanetTable.surfaceWeights(masses, p, row);
+            for (int i = 0; i < masses.length; i++) {
+                assertEquals(p.surfaceWeight(masses[i]), row[i]);
+                assertEquals(row[i], matrix[p.ordinal() * masses.length + i]);
+            }
+        }
+    }
+
+    @Test
+    public void testOutputSizeIsChecked() {
+        double[] masses = new double[3];
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> PlanetTable.surfaceWeights(masses, Planet.MARS, new double[2]));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> PlanetTable.surfaceWeights(masses, new double[3 * PlanetTable.planetCount() - 1]));
+    }
+}
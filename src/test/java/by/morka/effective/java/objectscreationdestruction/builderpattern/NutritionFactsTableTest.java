@@ -0,0 +1,65 @@
+package by.morka.effective.java.objectscreationdestruction.builderpattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NutritionFactsTableTest {
+
+    @Test
+    public void testGrowsFromZeroCapacity() {
+        NutritionFactsTable table = new NutritionFactsTable(0);
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, table.add(i, i + 1, i + 2, i + 3, i + 4, i + 5));
+        assertEquals(100, table.size());
+
+        NutritionFactsTable.Row row = table.row();
+        for (int i = 0; i < 100; i++) {
+            row.moveTo(i);
+            assertEquals(i, row.servingSize());
+            assertEquals(i + 1, row.servings());
+            assertEquals(i + 2, row.calories());
+            assertEquals(i + 3, row.fat());
+            assertEquals(i + 4, row.sodium());
+            assertEquals(i + 5, row.carbohydrate());
+        }
+        NutritionFacts facts = table.toNutritionFacts(99);
+        assertEquals(99, facts.servingSize());
+        assertEquals(104, facts.carbohydrate());
+    }
+
+    @Test
+    public void testRowBounds() {
+        NutritionFactsTable table = new NutritionFactsTable(4);
+        NutritionFactsTable.Row row = table.row();
+        assertThrows(IllegalStateException.class, row::calories);
+        assertThrows(IndexOutOfBoundsException.class, () -> row.moveTo(0));
+
+        table.add(240, 8, 100, 0, 35, 27);
+        assertEquals(100, row.moveTo(0).calories());
+        assertThrows(IndexOutOfBoundsException.class, () -> row.moveTo(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> row.moveTo(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.toNutritionFacts(1));
+        // A failed move leaves the view where it was
+        assertEquals(100, row.calories());
+    }
+
+    @Test
+    public void testBuilderResetRestoresDefaults() {
+        NutritionFacts.Builder builder = new NutritionFacts.Builder(240, 8)
+                .calories(100).fat(3).sodium(35).carbohydrate(27);
+        NutritionFacts first = builder.build();
+
+        NutritionFacts second = builder.reset(150, 2).sodium(5).build();
+        assertEquals(150, second.servingSize());
+        assertEquals(2, second.servings());
+        assertEquals(0, second.calories());
+        assertEquals(0, second.fat());
+        assertEquals(5, second.sodium());
+        assertEquals(0, second.carbohydrate());
+        // Products built earlier are not affected by reuse
+        assertEquals(100, first.calories());
+        assertEquals(240, first.servingSize());
+    }
+}
@@ -0,0 +1,90 @@
+package by.morka.effective.java.objectscreationdestruction.builderpattern;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static by.morka.effective.java.objectscreationdestruction.builderpattern.Pizza.Topping.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class PizzaTest {
+
+    @Test
+    public void testEqualToppingsAreShared() {
+        NyPizza ny = new NyPizza.Builder(NyPizza.Size.LARGE)
+                .addTopping(ONION).addTopping(HAM).build();
+        Calzone calzone = new Calzone.Builder()
+                .addTopping(HAM).addTopping(ONION).sauceInside().build();
+
+        assertEquals(EnumSet.of(HAM, ONION), ny.toppings);
+        assertSame(ny.toppings, calzone.toppings);
+        assertThrows(UnsupportedOperationException.class, () -> ny.toppings.add(PEPPER));
+    }
+
+    @Test
+    public void testUnchangedPrototypeIsReused() {
+        NyPizza margherita = new NyPizza.Builder(NyPizza.Size.LARGE).addTopping(PEPPER).build();
+
+        assertSame(margherita, NyPizza.Builder.from(margherita).build());
+        assertSame(margherita, NyPizza.Builder.from(margherita).addTopping(PEPPER).build());
+
+        NyPizza withHam = NyPizza.Builder.from(margherita).addTopping(HAM).build();
+        assertNotSame(margherita, withHam);
+        assertEquals(EnumSet.of(PEPPER, HAM), withHam.toppings);
+        assertEquals(EnumSet.of(PEPPER), margherita.toppings);
+    }
+
+    @Test
+    public void testNonToppingChangeBeforeTopping() {
+        Calzone plain = new Calzone.Builder().addTopping(ONION).build();
+
+        Calzone changed = Calzone.Builder.from(plain).sauceInside().addTopping(HAM).build();
+        assertEquals(EnumSet.of(ONION, HAM), changed.toppings);
+        assertEquals(EnumSet.of(ONION), plain.toppings);
+    }
+
+    @Test
+    public void testPresetsAreBounded() {
+        PizzaPresets<NyPizza> presets = new PizzaPresets<>(2);
+        NyPizza small = presets.get("small", () -> new NyPizza.Builder(NyPizza.Size.SMALL).build());
+        assertSame(small, presets.get("small", () -> new NyPizza.Builder(NyPizza.Size.SMALL).build()));
+        presets.get("medium", () -> new NyPizza.Builder(NyPizza.Size.MEDIUM).build());
+        presets.get("large", () -> new NyPizza.Builder(NyPizza.Size.LARGE).build());
+        assertEquals(2, presets.size());
+        assertNotSame(small, presets.get("small", () -> new NyPizza.Builder(NyPizza.Size.SMALL).build()));
+    }
+
+    @Test
+    public void testPresetHitsDoNotWaitForBuilds() throws Exception {
+        PizzaPresets<NyPizza> presets = new PizzaPresets<>(4);
+        NyPizza small = presets.get("small", () -> new NyPizza.Builder(NyPizza.Size.SMALL).build());
+
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<NyPizza> slow = CompletableFuture.supplyAsync(() -> presets.get("large", () -> {
+            building.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new NyPizza.Builder(NyPizza.Size.LARGE).build();
+        }));
+        building.await();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertSame(small, presets.get("small", () -> null)));
+        } finally {
+            release.countDown();
+        }
+        assertSame(slow.get(5, TimeUnit.SECONDS), presets.get("large", () -> null));
+    }
+}
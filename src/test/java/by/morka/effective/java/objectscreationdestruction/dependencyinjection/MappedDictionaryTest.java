@@ -0,0 +1,35 @@
+package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedDictionaryTest {
+
+    @Test
+    public void testLookups(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.dict");
+        MappedDictionary.write(file, List.of("pear", "apple", "banana", "apple", "Äpfel", "app"));
+        MappedDictionary dictionary = MappedDictionary.open(file);
+        SpellChecker checker = new SpellChecker(dictionary);
+
+        assertEquals(5, dictionary.size());
+        for (String word : List.of("app", "apple", "banana", "pear", "Äpfel"))
+            assertTrue(checker.isValid(word), word);
+        for (String word : List.of("", "ap", "apples", "bananas", "peat", "zebra"))
+            assertFalse(checker.isValid(word), word);
+
+        // Slices of a larger text are looked up without creating a String
+        CharBuffer text = CharBuffer.wrap("one banana split");
+        assertTrue(checker.isValid(text.subSequence(4, 10)));
+        assertFalse(checker.isValid(text.subSequence(11, 16)));
+    }
+}
@@ -0,0 +1,90 @@
+package by.morka.effective.java.objectscreationdestruction.dependencyinjection;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SpellCheckPipelineTest {
+    private static final Set<String> WORDS = Set.of("the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog");
+
+    @Test
+    public void testReportsMisspellingsWithOffsets() throws IOException {
+        String text = "the quikc brown fox, jumsp over the lazy dgo. the quikc fox";
+        List<SpellCheckPipeline.Misspelling> expected = List.of(
+                new SpellCheckPipeline.Misspelling("quikc", 4),
+                new SpellCheckPipeline.Misspelling("jumsp", 21),
+                new SpellCheckPipeline.Misspelling("dgo", 41),
+                new SpellCheckPipeline.Misspelling("quikc", 50));
+
+        // Chunk sizes smaller than a word must not split it
+        for (int chunkSize : new int[]{1, 3, 16, 1000}) {
+            SpellCheckPipeline pipeline = new SpellChecker(word -> WORDS.contains(word.toString())).pipeline(chunkSize);
+            assertEquals(expected, pipeline.check(text));
+            List<SpellCheckPipeline.Misspelling> decoded = new ArrayList<>();
+            pipeline.check(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, decoded::add);
+            assertEquals(expected, decoded);
+            List<SpellCheckPipeline.Misspelling> streamed = new ArrayList<>();
+            pipeline.check(new StringReader(text), streamed::add);
+            assertEquals(expected, streamed);
+        }
+    }
+
+    @Test
+    public void testShortReadsDoNotGrowBuffer() throws IOException {
+        String text = "word ".repeat(100_000) + "wrod";
+        // Returns one char per call, like a slow socket or decoder
+        Reader oneCharAtATime = new FilterReader(new StringReader(text)) {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 1));
+            }
+        };
+        Dictionary dictionary = word -> word.toString().equals("word");
+        List<SpellCheckPipeline.Misspelling> result = new ArrayList<>();
+        new SpellCheckPipeline(dictionary, 16).check(oneCharAtATime, result::add);
+
+        assertEquals(List.of(new SpellCheckPipeline.Misspelling("wrod", text.length() - 4)), result);
+    }
+
+    @Test
+    public void testBytesAreDecodedInWindows() throws IOException {
+        // Multi-byte chars and a surrogate pair, more than a 16-char window can hold at once
+        String text = ("gr\u00f6\u00dfe \uD83D\uDE00 stra\u00dfe ".repeat(20_000) + "gr\u00f6sse").trim();
+        Dictionary dictionary = word -> word.toString().equals("gr\u00f6\u00dfe") || word.toString().equals("stra\u00dfe");
+        List<SpellCheckPipeline.Misspelling> result = new ArrayList<>();
+        new SpellCheckPipeline(dictionary, 16)
+                .check(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, result::add);
+
+        assertEquals(List.of(new SpellCheckPipeline.Misspelling("gr\u00f6sse", text.length() - 6)), result);
+        assertThrows(CharacterCodingException.class, () -> new SpellCheckPipeline(dictionary, 16)
+                .check(ByteBuffer.wrap(new byte[]{'a', (byte) 0xC3}), StandardCharsets.UTF_8, result::add));
+    }
+
+    @Test
+    public void testDeduplicatesWithinChunk() {
+        AtomicInteger lookups = new AtomicInteger();
+        Dictionary dictionary = word -> {
+            lookups.incrementAndGet();
+            return WORDS.contains(word.toString());
+        };
+        String text = "the dog the dog the dog the cat";
+        List<SpellCheckPipeline.Misspelling> result = new SpellCheckPipeline(dictionary, 1000).check(text);
+
+        assertEquals(List.of("cat"), result.stream().map(SpellCheckPipeline.Misspelling::word).collect(Collectors.toList()));
+        assertEquals(3, lookups.get());
+    }
+}
@@ -0,0 +1,44 @@
+package by.morka.effective.java.objectscreationdestruction.finalizatorsandcleaners;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReclaimerTest {
+
+    @Test
+    public void testExplicitCleanIsNotALeak() {
+        AtomicInteger leaks = new AtomicInteger();
+        Reclaimer reclaimer = new Reclaimer(2, 1.0, site -> leaks.incrementAndGet());
+        AtomicInteger cleaned = new AtomicInteger();
+        Object resource = new Object();
+        Cleaner.Cleanable cleanable = reclaimer.register(resource, cleaned::incrementAndGet);
+        assertEquals(1, reclaimer.pendingCount());
+
+        cleanable.clean();
+        cleanable.clean();
+        assertEquals(1, cleaned.get());
+        assertEquals(0, reclaimer.pendingCount());
+        assertEquals(0, reclaimer.leakCount());
+        assertEquals(0, leaks.get());
+    }
+
+    @Test
+    public void testUnclosedResourceIsReportedAsLeak() throws InterruptedException {
+        AtomicInteger leaks = new AtomicInteger();
+        Reclaimer reclaimer = new Reclaimer(1, 1.0, site -> leaks.incrementAndGet());
+        reclaimer.register(new Object(), () -> { });
+        // even System.gc() is only a hint, so give it a few tries;
+        // wait for the listener itself, which runs after leakCount() is bumped
+        for (int i = 0; i < 100 && leaks.get() == 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(1, reclaimer.leakCount());
+        assertEquals(1, leaks.get());
+        assertEquals(0, reclaimer.pendingCount());
+    }
+}
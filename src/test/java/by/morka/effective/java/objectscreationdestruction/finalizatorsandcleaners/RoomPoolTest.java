@@ -0,0 +1,72 @@
+package by.morka.effective.java.objectscreationdestruction.finalizatorsandcleaners;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RoomPoolTest {
+    private final Reclaimer reclaimer = new Reclaimer(1, 0, Throwable::printStackTrace);
+
+    @Test
+    public void testClosedRoomIsReused() {
+        RoomPool pool = new RoomPool(reclaimer, 1, 0);
+        PooledRoom first;
+        try (PooledRoom room = pool.acquire(8)) {
+            assertEquals(8, room.numJunkPiles());
+            first = room;
+        }
+        assertThrows(IllegalStateException.class, first::numJunkPiles);
+        try (PooledRoom room = pool.acquire(3)) {
+            assertSame(first.slot, room.slot);
+            assertEquals(3, room.numJunkPiles());
+        }
+        assertEquals(0, reclaimer.reclaimedCount());
+    }
+
+    @Test
+    public void testRoomsBeyondCapacityAreCleaned() throws InterruptedException {
+        RoomPool pool = new RoomPool(reclaimer, 1, 1);
+        PooledRoom a = pool.acquire(1);
+        PooledRoom b = pool.acquire(2);
+        PooledRoom c = pool.acquire(3);
+        a.close();
+        b.close();
+        c.close();
+        assertEquals(1, reclaimer.reclaimedCount());
+        assertEquals(0, reclaimer.leakCount());
+
+        // The overflow is shared with other threads
+        PooledRoom[] fromOtherThread = new PooledRoom[1];
+        Thread t = new Thread(() -> fromOtherThread[0] = pool.acquire(4));
+        t.start();
+        t.join();
+        assertSame(b.slot, fromOtherThread[0].slot);
+        assertNotSame(a.slot, fromOtherThread[0].slot);
+    }
+
+    @Test
+    public void testStaleCloseAfterReuseIsIgnored() {
+        RoomPool pool = new RoomPool(reclaimer, 1, 0);
+        PooledRoom stale = pool.acquire(1);
+        stale.close();
+        PooledRoom current = pool.acquire(2);
+        assertSame(stale.slot, current.slot);
+
+        // The stale lease must not hand the room back while the current holder uses it
+        stale.close();
+        assertThrows(IllegalStateException.class, stale::numJunkPiles);
+        assertEquals(2, current.numJunkPiles());
+        PooledRoom other = pool.acquire(3);
+        assertNotSame(current.slot, other.slot);
+        assertEquals(2, current.numJunkPiles());
+
+        current.close();
+        current.close();
+        other.close();
+        assertEquals(1, reclaimer.reclaimedCount());
+        assertEquals(0, reclaimer.leakCount());
+    }
+}
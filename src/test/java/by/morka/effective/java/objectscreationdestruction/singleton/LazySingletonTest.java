@@ -0,0 +1,35 @@
+package by.morka.effective.java.objectscreationdestruction.singleton;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LazySingletonTest {
+
+    @Test
+    public void testLazyVariantsReturnOneInstance() {
+        assertSame(ElvisLazyHolder.getInstance(), ElvisLazyHolder.getInstance());
+        assertSame(ElvisDoubleChecked.getInstance(), ElvisDoubleChecked.getInstance());
+    }
+
+    static class Heavy {
+    }
+
+    @Test
+    public void testRegistryCreatesOnFirstGetOnly() {
+        AtomicInteger created = new AtomicInteger();
+        SingletonRegistry.register(Heavy.class, () -> {
+            created.incrementAndGet();
+            return new Heavy();
+        });
+        assertEquals(0, created.get());
+        assertSame(SingletonRegistry.get(Heavy.class), SingletonRegistry.get(Heavy.class));
+        assertEquals(1, created.get());
+        assertThrows(IllegalStateException.class, () -> SingletonRegistry.register(Heavy.class, Heavy::new));
+        assertThrows(IllegalArgumentException.class, () -> SingletonRegistry.get(String.class));
+    }
+}
@@ -0,0 +1,138 @@
+package by.morka.effective.java.objectscreationdestruction.staticfactory;
+
+import by.morka.effective.java.objectscreationdestruction.staticfactory.InMemoryDriver.InMemoryConnection;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MyConnectionPoolTest {
+    // "mem:" URLs are served by the discovered InMemoryDriver, so no test registers into the static list
+    private final MyDriverManager manager = new MyDriverManager();
+
+    @Test
+    public void testConnectionsAreReused() throws Exception {
+        try (MyConnectionPool pool = MyConnectionPool.forUrl(
+                manager, "mem:orders", new Properties(), 2, Duration.ofMinutes(1))) {
+            for (int i = 0; i < 10; i++) {
+                try (MyConnection connection = pool.acquire(Duration.ofSeconds(1))) {
+                    connection.doSomeJob();
+                }
+            }
+            assertEquals(1, pool.createdCount());
+            assertEquals(10, pool.acquisitionCount());
+            assertEquals(1, pool.idleCount());
+        }
+    }
+
+    @Test
+    public void testExhaustedPoolTimesOut() throws Exception {
+        try (MyConnectionPool pool = new MyConnectionPool(
+                () -> new InMemoryDriver().connect("mem:x", null), 1, Duration.ofMinutes(1))) {
+            MyConnection first = pool.acquire(Duration.ofSeconds(1));
+            assertThrows(TimeoutException.class, () -> pool.acquire(Duration.ofMillis(10)));
+            first.close();
+            pool.acquire(Duration.ofSeconds(1)).close();
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws Exception {
+        try (MyConnectionPool pool = new MyConnectionPool(
+                () -> new InMemoryDriver().connect("mem:x", null), 2, Duration.ZERO)) {
+            pool.acquire(Duration.ofSeconds(1)).close();
+            Thread.sleep(1);
+            pool.evictIdle();
+            assertEquals(0, pool.idleCount());
+            assertEquals(1, pool.discardedCount());
+        }
+    }
+
+    @Test
+    public void testColdIdleConnectionIsEvictedOnRelease() throws Exception {
+        try (MyConnectionPool pool = new MyConnectionPool(
+                () -> new InMemoryDriver().connect("mem:x", null), 2, Duration.ofMillis(50))) {
+            MyConnection cold = pool.acquire(Duration.ofSeconds(1));
+            MyConnection hot = pool.acquire(Duration.ofSeconds(1));
+            cold.close();
+            Thread.sleep(100);
+            // No evictIdle() call: releasing the hot connection drops the expired cold one
+            hot.close();
+            assertEquals(1, pool.idleCount());
+            assertEquals(1, pool.discardedCount());
+        }
+    }
+
+    @Test
+    public void testBoundHoldsUnderContention() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try (MyConnectionPool pool = new MyConnectionPool(
+                () -> new InMemoryDriver().connect("mem:x", null), 3, Duration.ofMinutes(1))) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                done.add(callers.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        try (MyConnection connection = pool.acquire(Duration.ofSeconds(10))) {
+                            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                            connection.doSomeJob();
+                            open.decrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : done)
+                f.get(30, TimeUnit.SECONDS);
+            assertTrue(maxOpen.get() <= 3, "max open: " + maxOpen.get());
+            assertTrue(pool.createdCount() <= 3, "created: " + pool.createdCount());
+            assertEquals(1600, pool.acquisitionCount());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWaiterIsWokenByRelease() throws Exception {
+        try (MyConnectionPool pool = new MyConnectionPool(
+                () -> new InMemoryDriver().connect("mem:x", null), 1, Duration.ofMinutes(1))) {
+            MyConnection first = pool.acquire(Duration.ofSeconds(1));
+            CompletableFuture<MyConnection> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pool.acquire(Duration.ofSeconds(30));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(50);
+            first.close();
+            waiting.get(5, TimeUnit.SECONDS).close();
+        }
+    }
+
+    @Test
+    public void testLeaseForwardsBatchedJobs() throws Exception {
+        InMemoryConnection connection = new InMemoryDriver().connect("mem:x", null);
+        try (MyConnectionPool pool = new MyConnectionPool(() -> connection, 1, Duration.ofMinutes(1))) {
+            try (MyConnection lease = pool.acquire(Duration.ofSeconds(1))) {
+                lease.doSomeJobs(10);
+            }
+            assertEquals(10, connection.jobs());
+            assertEquals(1, connection.roundTrips());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package by.morka.effective.java.objectscreationdestruction.staticfactory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MyDriverManagerTest {
+
+    @Test
+    public void testDriverIsDiscoveredBySchemeOnFirstUse() {
+        MyDriver driver = MyDriverManager.discoveredDriver("mem:inventory");
+        assertTrue(driver instanceof InMemoryDriver);
+        assertSame(driver, MyDriverManager.discoveredDriver("mem:orders"));
+        assertNull(MyDriverManager.discoveredDriver("nosuchscheme:orders"));
+        assertTrue(MyDriverManager.providerStartupTimes().containsKey(InMemoryDriver.class.getName()));
+    }
+
+    @Test
+    public void testDriverIsResolvedByUrlAndCachedPerScheme() {
+        MyDriverManager manager = new MyDriverManager();
+        MyDriver driver = manager.driverFor("mem:orders");
+        assertTrue(driver instanceof InMemoryDriver);
+        int cached = MyDriverManager.cachedSchemeCount();
+        for (int i = 0; i < 1_000; i++)
+            assertSame(driver, manager.driverFor("mem:orders?shard=" + i));
+        assertEquals(cached, MyDriverManager.cachedSchemeCount());
+        assertThrows(IllegalArgumentException.class, () -> manager.driverFor("other:orders"));
+    }
+
+    @Test
+    public void testRegistrationInvalidatesCachedDrivers() {
+        MyDriverManager manager = new MyDriverManager();
+        MyDriver discovered = manager.driverFor("mem:special");
+        MyDriver special = new MyDriver() {
+            @Override
+            public MyConnection connect(String url, Properties properties) {
+                return new InMemoryDriver().connect(url, properties);
+            }
+
+            @Override
+            public boolean acceptsURL(String url) {
+                return url.equals("mem:special");
+            }
+        };
+        manager.registerDriver(special);
+        try {
+            assertSame(special, manager.driverFor("mem:special"));
+            // Same scheme, but the cached driver doesn't accept this URL
+            assertSame(discovered, manager.driverFor("mem:other"));
+            assertSame(special, manager.driverFor("mem:special"));
+        } finally {
+            manager.deregisterDriver(special);
+        }
+        assertSame(discovered, manager.driverFor("mem:special"));
+    }
+}
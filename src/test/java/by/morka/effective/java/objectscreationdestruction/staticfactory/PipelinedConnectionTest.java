@@ -0,0 +1,90 @@
+package by.morka.effective.java.objectscreationdestruction.staticfactory;
+
+import by.morka.effective.java.objectscreationdestruction.staticfactory.InMemoryDriver.InMemoryConnection;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PipelinedConnectionTest {
+
+    @Test
+    public void testConcurrentJobsAreBatched() {
+        Properties properties = new Properties();
+        properties.setProperty(InMemoryDriver.LATENCY_MILLIS, "5");
+        InMemoryConnection connection = new InMemoryDriver().connect("mem:jobs", properties);
+
+        try (PipelinedConnection pipelined =
+                     new PipelinedConnection(connection, 50, Duration.ofMillis(5))) {
+            List<CompletableFuture<Void>> jobs = new ArrayList<>();
+            for (int i = 0; i < 200; i++)
+                jobs.add(pipelined.submit());
+            jobs.forEach(CompletableFuture::join);
+
+            assertEquals(200, connection.jobs());
+            assertEquals(pipelined.batchCount(), connection.roundTrips());
+            assertTrue(connection.roundTrips() <= 10, "round trips: " + connection.roundTrips());
+        }
+    }
+
+    @Test
+    public void testSingleCallerBatchIsPipelined() {
+        Properties properties = new Properties();
+        properties.setProperty(InMemoryDriver.LATENCY_MILLIS, "5");
+        InMemoryConnection connection = new InMemoryDriver().connect("mem:jobs", properties);
+
+        try (PipelinedConnection pipelined =
+                     new PipelinedConnection(connection, 50, Duration.ofMillis(5))) {
+            // One caller: the default doSomeJobs would wait for each job, one round trip apiece
+            pipelined.doSomeJobs(200);
+
+            assertEquals(200, connection.jobs());
+            assertTrue(connection.roundTrips() <= 10, "round trips: " + connection.roundTrips());
+        }
+    }
+
+    @Test
+    public void testSubmitRacingCloseNeverHangs() throws Exception {
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 50; round++) {
+                PipelinedConnection pipelined = new PipelinedConnection(
+                        new InMemoryDriver().connect("mem:race", null), 8, Duration.ZERO);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<List<CompletableFuture<Void>>>> submitted = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    submitted.add(submitters.submit(() -> {
+                        List<CompletableFuture<Void>> jobs = new ArrayList<>();
+                        start.await();
+                        try {
+                            while (true)
+                                jobs.add(pipelined.submit());
+                        } catch (IllegalStateException closed) {
+                            return jobs;
+                        }
+                    }));
+                }
+                start.countDown();
+                pipelined.close();
+                // Every future handed out completes, normally or with the close exception
+                for (Future<List<CompletableFuture<Void>>> f : submitted) {
+                    for (CompletableFuture<Void> job : f.get(5, TimeUnit.SECONDS))
+                        job.handle((v, e) -> null).get(5, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            submitters.shutdownNow();
+        }
+    }
+}